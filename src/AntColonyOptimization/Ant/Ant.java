@@ -1,8 +1,13 @@
 package AntColonyOptimization.Ant;
 
 import AntColonyOptimization.AntColonyOptimization;
+import LocalSearch.LocalSearch;
+import Solution.Solution;
+import Solution.Split;
+import Utilities.SparseSet;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * Ant for the Ant System.
@@ -21,13 +26,25 @@ public class Ant implements Runnable {
      */
     private final int capacity;
     /**
-     * A List of feasible vertices for the next selection.
+     * The set of feasible vertices for the next selection.
      */
-    private final ArrayList<Integer> feasibleVertices;
+    private final SparseSet feasibleVertices;
     /**
-     * The created Tour of the ant.
+     * Buffer for the candidates of the next selection.
      */
-    private ArrayList<Integer> tour;
+    private final int[] candidates;
+    /**
+     * Buffer for the values of the candidates of the next selection.
+     */
+    private final double[] candidateValues;
+    /**
+     * The created Tour of the ant, the first tourSize entries are valid.
+     */
+    private final int[] tour;
+    /**
+     * The number of vertices in the tour.
+     */
+    private int tourSize;
     /**
      * Current vertex.
      */
@@ -37,21 +54,39 @@ public class Ant implements Runnable {
      */
     private int currentLoad;
     /**
-     * The List of not visited vertices.
+     * The position of the heaviest vertex in the vertices ordered by decreasing demand, which may still fit into the
+     * vehicle. The vertices before it are removed from the feasible vertices of the current route.
+     */
+    private int heaviestFeasible;
+    /**
+     * The set of not visited vertices.
+     */
+    private final SparseSet notVisitedVertices;
+    /**
+     * The length of the tour, the distances are whole numbers so it is exact.
      */
-    private ArrayList<Integer> notVisitedVertices;
+    private int tourLength;
     /**
-     * The length of the tour.
+     * The edges of the selections, their first and second vertex one after the other. Recorded in parallel mode for
+     * the deferred local pheromone updates, the edges of a giant tour differ from the edges of its routes.
      */
-    private double tourLength;
+    private final int[] selectedEdges;
     /**
-     * The traveled path of the ant.
+     * The number of recorded edges of the selections.
      */
-    private int[][] path;
+    private int numOfSelectedEdges;
     /**
      * The number of used routes.
      */
     private int numOfRoutes;
+    /**
+     * The random source of the ant. Only used by the thread running the ant.
+     */
+    private final SplittableRandom random;
+    /**
+     * The split of the giant tour into routes, created on the first giant tour.
+     */
+    private Split split;
 
     /**
      * Constructor.
@@ -61,13 +96,29 @@ public class Ant implements Runnable {
      * @param capacity The capacity of the ant.
      */
     public Ant(AntColonyOptimization aco, int id, int capacity) {
+        this(aco, id, capacity, aco.getRandomProvider().split());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param aco      The instance of the Ant System in which the ant lives.
+     * @param id       The id for the ant.
+     * @param capacity The capacity of the ant.
+     * @param random   The random stream of the ant.
+     */
+    private Ant(AntColonyOptimization aco, int id, int capacity, SplittableRandom random) {
         this.id = id;
         this.aco = aco;
-        this.notVisitedVertices = new ArrayList<>(aco.getNumOfVertices() - 1);
-        this.feasibleVertices = new ArrayList<>(aco.getNumOfVertices() - 1);
-        this.tour = new ArrayList<>(aco.getNumOfVertices() + 1);
-        this.path = new int[aco.getNumOfVertices()][aco.getNumOfVertices()];
+        this.notVisitedVertices = new SparseSet(aco.getNumOfVertices());
+        this.feasibleVertices = new SparseSet(aco.getNumOfVertices());
+        this.candidates = new int[aco.getNumOfVertices()];
+        this.candidateValues = new double[aco.getNumOfVertices()];
+        // every vertex and at most one return to the starting vertex per vertex
+        this.tour = new int[2 * aco.getNumOfVertices()];
+        this.selectedEdges = new int[2 * aco.getNumOfVertices()];
         this.capacity = capacity;
+        this.random = random;
     }
 
     /**
@@ -81,114 +132,258 @@ public class Ant implements Runnable {
 
     /**
      * Resets the ant to the starting values.
+     * Reuses the buffers of the previous run.
      */
     public void reset() {
         this.currentVertex = aco.getAntPosition(id);
-        this.tourLength = 0.0;
-        this.tour.clear();
+        this.tourLength = 0;
+        this.tour[0] = currentVertex;
+        this.tourSize = 1;
         this.numOfRoutes = 0;
-        this.notVisitedVertices = aco.initializeNotVisitedVertices(currentVertex);
-        this.path = new int[aco.getNumOfVertices()][aco.getNumOfVertices()];
+        this.numOfSelectedEdges = 0;
+        aco.initializeNotVisitedVertices(currentVertex, notVisitedVertices);
     }
 
     /**
      * Construct the tour of the ant.
      */
     public void explore() {
+        if (aco.isGiantTourSplit()) {
+            exploreGiantTour();
+            return;
+        }
         // exploration ends when their is no more vertex to visit
         while (!notVisitedVertices.isEmpty()) {
             currentLoad = 0;
-            tour.add(currentVertex);
+            heaviestFeasible = 0;
             feasibleVertices.addAll(notVisitedVertices);
             while (!feasibleVertices.isEmpty()) {
                 // get the next vertex
                 int nextVertex = aco.getAntExplorationRule().selectNextVertex(this);
 
-                // performs the local pheromone update rule if available
-                if (aco.getAntPheromoneRule() != null)
-                    aco.getAntPheromoneRule().updateTau(currentVertex, nextVertex);
+                updateTauLocally(nextVertex);
 
                 // remove the next vertex from the list of not visited vertices
-                notVisitedVertices.remove((Integer) nextVertex);
-                feasibleVertices.remove((Integer) nextVertex);
+                notVisitedVertices.remove(nextVertex);
+                feasibleVertices.remove(nextVertex);
 
                 // add the next vertex to the tour
-                tour.add(nextVertex);
+                tour[tourSize++] = nextVertex;
 
                 // increase load
                 currentLoad += aco.getDemands(nextVertex);
 
-                // mark the used edges
-                path[currentVertex][nextVertex] = 1;
-                path[nextVertex][currentVertex] = 1;
-
                 // next vertex is the new current vertex
                 currentVertex = nextVertex;
 
                 updateFeasibleVertices();
             }
             // complete the route
-            tour.add(tour.get(0));
+            tour[tourSize++] = tour[0];
             numOfRoutes++;
 
-            // mark the used edges
-            path[currentVertex][tour.get(0)] = 1;
-            path[tour.get(0)][currentVertex] = 1;
-
             // set starting point of the next route
-            currentVertex = tour.get(0);
+            currentVertex = tour[0];
         }
         // compute the length of the tour
         computeTourLength();
     }
 
+    /**
+     * Construct a giant tour through all vertices and split it into the routes with the shortest total length.
+     * The capacity is only respected by the split, so every not visited vertex is feasible for the next selection.
+     */
+    private void exploreGiantTour() {
+        feasibleVertices.addAll(notVisitedVertices);
+        while (!feasibleVertices.isEmpty()) {
+            // get the next vertex
+            int nextVertex = aco.getAntExplorationRule().selectNextVertex(this);
+
+            // the local update applies to the edge of the giant tour, not to the edges of the split routes
+            updateTauLocally(nextVertex);
+
+            notVisitedVertices.remove(nextVertex);
+            feasibleVertices.remove(nextVertex);
+            tour[tourSize++] = nextVertex;
+            currentVertex = nextVertex;
+        }
+        tour[tourSize++] = tour[0];
+
+        // choose the route boundaries, then count the routes and the length
+        if (split == null)
+            split = new Split(aco.getGraph(), capacity);
+        tourSize = split.split(tour, tourSize);
+        updateTour();
+    }
+
+    /**
+     * Performs the local pheromone update rule on the edge to the selected vertex if available.
+     * In parallel mode the edge is recorded instead and updated after all ants have finished.
+     *
+     * @param nextVertex The selected vertex.
+     */
+    private void updateTauLocally(int nextVertex) {
+        if (aco.getAntPheromoneRule() == null)
+            return;
+        if (aco.isParallel()) {
+            selectedEdges[2 * numOfSelectedEdges] = currentVertex;
+            selectedEdges[2 * numOfSelectedEdges + 1] = nextVertex;
+            numOfSelectedEdges++;
+        } else {
+            aco.getAntPheromoneRule().updateTau(currentVertex, nextVertex);
+        }
+    }
+
     /**
      * Update the feasible vertices for the next selection.
      * A vertex is feasible if the additional demand does not exceed the capacity otherwise it will be removed.
+     * The remaining capacity only decreases within a route, so the threshold moves along the vertices ordered by
+     * decreasing demand and every vertex is passed at most once per route.
      */
     private void updateFeasibleVertices() {
-        feasibleVertices.removeIf(feasibleVertex -> currentLoad + aco.getDemands(feasibleVertex) > capacity);
+        int remainingCapacity = capacity - currentLoad;
+        int numOfVertices = aco.getNumOfVertices();
+        while (heaviestFeasible < numOfVertices) {
+            int vertex = aco.getVertexByDecreasingDemand(heaviestFeasible);
+            if (aco.getDemands(vertex) <= remainingCapacity)
+                break;
+            feasibleVertices.remove(vertex);
+            heaviestFeasible++;
+        }
     }
 
     /**
      * Computes the length of the tour.
      */
     private void computeTourLength() {
-        for (int i = 0; i < tour.size() - 1; i++) {
-            tourLength += aco.getDistance(tour.get(i), tour.get(i + 1));
+        for (int i = 0; i < tourSize - 1; i++) {
+            tourLength += aco.getCost(tour[i], tour[i + 1]);
+        }
+    }
+
+    /**
+     * Improves the tour with a local search and updates the number of routes and the length.
+     *
+     * @param localSearch The local search.
+     */
+    public void improve(LocalSearch localSearch) {
+        tourSize = localSearch.improve(tour, tourSize);
+        updateTour();
+    }
+
+    /**
+     * Sets the tour of the ant, e.g. to start with the solution of a heuristic.
+     *
+     * @param tour The tour, starting and ending at the depot.
+     */
+    public void setTour(int[] tour) {
+        if (tour.length < 2 || tour.length > this.tour.length || tour[0] != tour[tour.length - 1])
+            throw new IllegalArgumentException("The tour has to start and end at the depot.");
+        System.arraycopy(tour, 0, this.tour, 0, tour.length);
+        tourSize = tour.length;
+        updateTour();
+    }
+
+    /**
+     * Updates the number of routes and the length after the tour changed.
+     */
+    private void updateTour() {
+        numOfRoutes = 0;
+        for (int k = 0; k < tourSize - 1; k++) {
+            if (tour[k + 1] == tour[0])
+                numOfRoutes++;
         }
+        tourLength = 0;
+        computeTourLength();
     }
 
     /**
      * Clone an ant to save the best solution.
      */
     public Ant clone() {
-        Ant ant = new Ant(aco, id, capacity);
-        ant.tour = new ArrayList<>(tour);
+        // the clone does not explore, it shares the random stream instead of splitting a new one
+        Ant ant = new Ant(aco, id, capacity, random);
+        System.arraycopy(tour, 0, ant.tour, 0, tourSize);
+        ant.tourSize = tourSize;
         ant.tourLength = tourLength;
-        ant.path = path.clone();
+        ant.numOfRoutes = numOfRoutes;
 
         return ant;
     }
 
     /**
-     * Gets the value of path at position i, j.
+     * Convert the ant tour to an integer array.
      *
-     * @param i Row i.
-     * @param j Column j
-     * @return The value of path at position i, j.
+     * @return The tour as an int[].
      */
-    public int getPathValue(int i, int j) {
-        return path[i][j];
+    public int[] getTour() {
+        return Arrays.copyOf(tour, tourSize);
     }
 
     /**
-     * Convert the ant tour to an integer array.
+     * Converts the tour to a solution with routes.
      *
-     * @return The tour as an int[].
+     * @return The solution of the tour.
      */
-    public int[] getTour() {
-        return tour.stream().mapToInt(i -> i).toArray();
+    public Solution getSolution() {
+        return new Solution(aco.getGraph(), capacity, getTour());
+    }
+
+    /**
+     * Gets the identifier of the ant.
+     *
+     * @return The id of the ant.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the number of vertices in the tour, including the returns to the starting vertex.
+     *
+     * @return The size of the tour.
+     */
+    public int getTourSize() {
+        return tourSize;
+    }
+
+    /**
+     * Gets the vertex at a specific position of the tour.
+     *
+     * @param position The position in the tour, between 0 and the tour size - 1.
+     * @return The vertex at the position.
+     */
+    public int getTourVertex(int position) {
+        return tour[position];
+    }
+
+    /**
+     * Gets the number of edges of the selections recorded for the deferred local pheromone updates.
+     *
+     * @return The number of recorded edges.
+     */
+    public int getNumOfSelectedEdges() {
+        return numOfSelectedEdges;
+    }
+
+    /**
+     * Gets the vertex before the selection of a recorded edge.
+     *
+     * @param k The k-th recorded edge, between 0 and the number of recorded edges - 1.
+     * @return The first vertex of the edge.
+     */
+    public int getSelectedEdgeStart(int k) {
+        return selectedEdges[2 * k];
+    }
+
+    /**
+     * Gets the selected vertex of a recorded edge.
+     *
+     * @param k The k-th recorded edge, between 0 and the number of recorded edges - 1.
+     * @return The second vertex of the edge.
+     */
+    public int getSelectedEdgeEnd(int k) {
+        return selectedEdges[2 * k + 1];
     }
 
     /**
@@ -196,7 +391,7 @@ public class Ant implements Runnable {
      *
      * @return The tour length.
      */
-    public double getTourLength() {
+    public int getTourLength() {
         return tourLength;
     }
 
@@ -214,7 +409,7 @@ public class Ant implements Runnable {
      *
      * @return The not visited vertices.
      */
-    public ArrayList<Integer> getNotVisitedVertices() {
+    public SparseSet getNotVisitedVertices() {
         return notVisitedVertices;
     }
 
@@ -223,10 +418,37 @@ public class Ant implements Runnable {
      *
      * @return The feasible vertices.
      */
-    public ArrayList<Integer> getFeasibleVertices() {
+    public SparseSet getFeasibleVertices() {
         return feasibleVertices;
     }
 
+    /**
+     * Gets the buffer for the candidates of the next selection.
+     *
+     * @return The candidate buffer.
+     */
+    public int[] getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Gets the buffer for the values of the candidates of the next selection.
+     *
+     * @return The candidate value buffer.
+     */
+    public double[] getCandidateValues() {
+        return candidateValues;
+    }
+
+    /**
+     * Gets the random source of the ant.
+     *
+     * @return The random source.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
     /**
      * Gets the current vertex of the ant.
      *
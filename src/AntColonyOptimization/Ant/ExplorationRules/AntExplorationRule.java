@@ -1,7 +1,9 @@
 package AntColonyOptimization.Ant.ExplorationRules;
 
 import AntColonyOptimization.Ant.Ant;
+import AntColonyOptimization.AntColonyOptimization;
 import AntColonyOptimization.Ant.SelectionRules.AntSelectionRule;
+import Utilities.SparseSet;
 
 /**
  * Exploration rule for the ant. Describes how the ant explores.
@@ -29,4 +31,49 @@ public abstract class AntExplorationRule {
      * @return The next vertex.
      */
     public abstract int selectNextVertex(Ant ant);
+
+    /**
+     * Collects the candidates for the next selection into the candidate buffer of the ant and the cached products of
+     * the intensity and the visibility of their trails into the value buffer.
+     * With candidate lists only the feasible nearest neighbors of the current vertex are candidates, their edges are
+     * read at their storage positions without a search, an edge without a position by its vertices. If none of them
+     * is feasible all feasible vertices are candidates.
+     *
+     * @param ant The ant.
+     * @return The number of candidates in the buffers.
+     */
+    protected int collectCandidates(Ant ant) {
+        int[] candidates = ant.getCandidates();
+        double[] values = ant.getCandidateValues();
+        SparseSet feasibleVertices = ant.getFeasibleVertices();
+        AntColonyOptimization aco = ant.getAco();
+        int currentVertex = ant.getCurrentVertex();
+        int size = 0;
+
+        if (aco.hasCandidateLists()) {
+            int[] candidateList = aco.getCandidateList(currentVertex);
+            int[] positions = aco.getCandidatePositions(currentVertex);
+            for (int c = 0; c < candidateList.length; c++) {
+                int j = candidateList[c];
+                if (feasibleVertices.contains(j)) {
+                    // an edge without a stored position is looked up like the edges of the fallback
+                    if (positions[c] >= 0)
+                        values[size] = aco.getChoiceInfoAt(positions[c]);
+                    else
+                        values[size] = aco.getChoiceInfo(currentVertex, j);
+                    candidates[size++] = j;
+                }
+            }
+        }
+
+        // fall back to all feasible vertices
+        if (size == 0) {
+            for (int k = 0; k < feasibleVertices.size(); k++) {
+                int j = feasibleVertices.get(k);
+                values[size] = aco.getChoiceInfo(currentVertex, j);
+                candidates[size++] = j;
+            }
+        }
+        return size;
+    }
 }
\ No newline at end of file
@@ -3,8 +3,6 @@ package AntColonyOptimization.Ant.ExplorationRules;
 import AntColonyOptimization.Ant.Ant;
 import AntColonyOptimization.Ant.SelectionRules.AntSelectionRule;
 
-import java.util.Random;
-
 /**
  * A pseudo random exploration.
  */
@@ -27,7 +25,7 @@ public class PseudoRandomExploration extends RandomExploration {
 
     @Override
     public int selectNextVertex(Ant ant) {
-        if (new Random().nextDouble() <= q0) {
+        if (ant.getRandom().nextDouble() <= q0) {
             return deterministicSelection(ant);
         } else {
             return randomSelection(ant);
@@ -35,23 +33,22 @@ public class PseudoRandomExploration extends RandomExploration {
     }
 
     /**
-     * Selects the vertex with the highest value.
+     * Selects the candidate vertex with the highest value.
      *
      * @param ant The ant.
      * @return The next vertex.
      */
     public int deterministicSelection(Ant ant) {
-        int nextNode = ant.getFeasibleVertices().get(0);
+        int[] candidates = ant.getCandidates();
+        double[] values = ant.getCandidateValues();
+        int numOfCandidates = collectCandidates(ant);
+        int nextNode = candidates[0];
         double max = Double.MIN_VALUE;
 
-        for (int j : ant.getFeasibleVertices()) {
-            // calculate the intensity of the trail
-            double tij = ant.getAco().getTau(ant.getCurrentVertex(), j);
-
-            // calculate the visibility of the trail, quantity = 1 / d_ij
-            double nij = Math.pow(1 / ant.getAco().getDistance(ant.getCurrentVertex(), j), ant.getAco().getBeta());
-
-            double value = tij * nij;
+        for (int k = 0; k < numOfCandidates; k++) {
+            int j = candidates[k];
+            // the cached product of the intensity and the visibility of the trail
+            double value = values[k];
 
             // select the vertex with the highest value or the first
             if (value > max) {
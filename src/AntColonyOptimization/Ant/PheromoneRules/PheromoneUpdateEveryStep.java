@@ -4,6 +4,7 @@ import AntColonyOptimization.AntColonyOptimization;
 
 /**
  * Pheromone update at every step of an ant.
+ * If the ants construct in parallel, the updates are deferred until all ants have finished their tours.
  */
 public class PheromoneUpdateEveryStep extends AntPheromoneRule {
     /**
@@ -17,13 +18,25 @@ public class PheromoneUpdateEveryStep extends AntPheromoneRule {
 
     /**
      * {@inheritDoc}
+     * Ignored for an edge which is not stored by a sparse graph.
      */
     @Override
     public void updateTau(int i, int j) {
+        int position = aco.getPosition(i, j);
+        if (position < 0)
+            return;
+
         // calculate and set tau
-        aco.setTau(i, j, (1 - aco.getRho()) * aco.getTau(i, j) + aco.getRho() * aco.getInitialTau());
+        aco.setTauAt(position, (1 - aco.getRho()) * aco.getTauAt(position) + aco.getRho() * aco.getInitialTau());
+
+        // refresh the cached products of the edge
+        aco.updateChoiceInfoAt(position);
 
-        // set symmetric tau
-        aco.setTau(j, i, aco.getTau(i, j));
+        // set symmetric tau, unless both directions share the position
+        int reversePosition = aco.getPosition(j, i);
+        if (reversePosition != position) {
+            aco.setTauAt(reversePosition, aco.getTauAt(position));
+            aco.updateChoiceInfoAt(reversePosition);
+        }
     }
 }
\ No newline at end of file
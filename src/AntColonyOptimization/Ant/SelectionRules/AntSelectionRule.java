@@ -1,15 +1,23 @@
 package AntColonyOptimization.Ant.SelectionRules;
 
+import java.util.SplittableRandom;
+
 /**
  * Selection rule for the ant.
  */
 public abstract class AntSelectionRule {
     /**
      * Returns an integer which represents the selected vertex.
+     * Only the first numOfCandidates entries of the candidates and their values are considered.
+     * The values are a scratch buffer of the ant and may be overwritten by the rule.
      *
-     * @param probability    A double array with the probability of each vertex.
-     * @param sumProbability The sum of the probabilities.
+     * @param candidates      The candidate vertices.
+     * @param values          The value of each candidate, proportional to its probability.
+     * @param numOfCandidates The number of candidates.
+     * @param sumValues       The sum of the values.
+     * @param random          The random source of the selecting ant.
      * @return The selected vertex.
      */
-    public abstract int select(double[] probability, double sumProbability);
-}
\ No newline at end of file
+    public abstract int select(int[] candidates, double[] values, int numOfCandidates, double sumValues,
+                               SplittableRandom random);
+}
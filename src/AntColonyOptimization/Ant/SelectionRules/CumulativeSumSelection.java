@@ -0,0 +1,35 @@
+package AntColonyOptimization.Ant.SelectionRules;
+
+import java.util.SplittableRandom;
+
+/**
+ * Roulette Wheel Selection for the next vertex, using a binary search over the cumulative sums.
+ */
+public class CumulativeSumSelection extends AntSelectionRule {
+    /**
+     * {@inheritDoc}
+     * Selects randomly depending on the probability.
+     * Turns the values into their cumulative sums and searches the random number in them.
+     */
+    @Override
+    public int select(int[] candidates, double[] values, int numOfCandidates, double sumValues,
+                      SplittableRandom random) {
+        for (int k = 1; k < numOfCandidates; k++)
+            values[k] += values[k - 1];
+
+        // random number in range 0...sum of the values
+        double randNum = random.nextDouble() * values[numOfCandidates - 1];
+
+        // search the first cumulative sum which is not smaller than the random number
+        int low = 0;
+        int high = numOfCandidates - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < randNum)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return candidates[low];
+    }
+}
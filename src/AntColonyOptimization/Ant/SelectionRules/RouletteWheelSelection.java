@@ -1,6 +1,6 @@
 package AntColonyOptimization.Ant.SelectionRules;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Roulette Wheel Selection for the next vertex.
@@ -11,16 +11,18 @@ public class RouletteWheelSelection extends AntSelectionRule {
      * Selects randomly depending on the probability.
      */
     @Override
-    public int select(double[] probability, double sumProbability) {
-        // random number in range 0...sumProbability
-        double randNum = new Random().nextDouble() * sumProbability;
+    public int select(int[] candidates, double[] values, int numOfCandidates, double sumValues,
+                      SplittableRandom random) {
+        // random number in range 0...sumValues
+        double randNum = random.nextDouble() * sumValues;
 
         int selection = 0;
-        double accumulatedProbability = probability[selection];
-        while (accumulatedProbability < randNum) {
+        double accumulatedValue = values[selection];
+        // the last candidate is taken if rounding errors leave the accumulated value below the random number
+        while (accumulatedValue < randNum && selection < numOfCandidates - 1) {
             selection++;
-            accumulatedProbability += probability[selection];
+            accumulatedValue += values[selection];
         }
-        return selection;
+        return candidates[selection];
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package AntColonyOptimization.Ant.SelectionRules;
+
+import java.util.SplittableRandom;
+
+/**
+ * Tournament Selection for the next vertex.
+ */
+public class TournamentSelection extends AntSelectionRule {
+    /**
+     * Number of candidates which compete in a tournament.
+     */
+    private final int tournamentSize;
+
+    /**
+     * Constructor.
+     *
+     * @param tournamentSize The number of candidates which compete in a tournament.
+     */
+    public TournamentSelection(int tournamentSize) {
+        if (tournamentSize < 1)
+            throw new IllegalArgumentException("The tournament size has to be greater than 0");
+        this.tournamentSize = tournamentSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Draws random candidates and selects the one with the highest value.
+     */
+    @Override
+    public int select(int[] candidates, double[] values, int numOfCandidates, double sumValues,
+                      SplittableRandom random) {
+        int selection = random.nextInt(numOfCandidates);
+        for (int i = 1; i < tournamentSize; i++) {
+            int competitor = random.nextInt(numOfCandidates);
+            if (values[competitor] > values[selection])
+                selection = competitor;
+        }
+        return candidates[selection];
+    }
+}
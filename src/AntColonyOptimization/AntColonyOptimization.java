@@ -5,9 +5,20 @@ import AntColonyOptimization.Ant.ExplorationRules.AntExplorationRule;
 import AntColonyOptimization.Ant.PheromoneRules.AntPheromoneRule;
 import AntColonyOptimization.DepositRules.DepositRule;
 import Graph.Graph;
+import LocalSearch.LocalSearch;
+import Solution.Solution;
 import Utilities.ProblemInstance;
+import Utilities.RandomProvider;
+import Utilities.SparseSet;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Ant Colony Optimization algorithm to solve CVRPs.
@@ -17,10 +28,22 @@ public abstract class AntColonyOptimization {
      * Q: a constant related to the quantity of trail laid by ants.
      */
     public static final double Q = 1.0;
+    /**
+     * The share of the pheromone range above which an edge counts as a branch for the stagnation measure.
+     */
+    public static final double BRANCHING_LAMBDA = 0.05;
     /**
      * The graph which represents the environment.
      */
     private final Graph graph;
+    /**
+     * The cached products of pheromone intensity and visibility.
+     */
+    private final ChoiceInfo choiceInfo;
+    /**
+     * The vertices ordered by decreasing demand, the order in which they stop fitting into a filling vehicle.
+     */
+    private final int[] verticesByDemand;
     /**
      * The problem to solve.
      */
@@ -67,9 +90,63 @@ public abstract class AntColonyOptimization {
     private int[] antPositions;
 
     /**
-     * The ant with the best tour.
+     * The ant with the best tour. Replaced by a new ant on an improvement, so it can be read while solving.
      */
-    private Ant bestAnt;
+    private volatile Ant bestAnt;
+    /**
+     * Number of threads to construct the solutions of the ants. One means sequential construction.
+     */
+    private int numberOfThreads = 1;
+    /**
+     * The worker pool for the parallel construction, only available while solving.
+     */
+    private ExecutorService executor;
+    /**
+     * The provider of the random streams for the ants.
+     */
+    private RandomProvider randomProvider = new RandomProvider();
+    /**
+     * Number of nearest neighbors in the candidate list of each vertex. Zero means no candidate lists.
+     */
+    private int candidateListSize = 0;
+    /**
+     * The local search to improve the solutions of the ants before the pheromone update. Null means no local search.
+     */
+    private LocalSearch localSearch;
+    /**
+     * Describes whether the local search improves the solutions of all ants or only the iteration best solution.
+     */
+    private boolean localSearchOnAllAnts = false;
+    /**
+     * Describes whether the ants construct a giant tour, which is split into the best routes afterwards, instead of
+     * closing a route when no vertex fits into the vehicle.
+     */
+    private boolean giantTourSplit = false;
+    /**
+     * The solve stops as soon as the best tour is not longer than the target cost. Zero means no target cost.
+     */
+    private int targetCost = 0;
+    /**
+     * The solve stops after this number of iterations without an improvement of the best tour. Zero means no limit.
+     */
+    private int maxIterationsWithoutImprovement = 0;
+    /**
+     * The solve stops when the average branching factor of the pheromones falls to this value. Zero means the
+     * stagnation is not measured.
+     */
+    private double minBranchingFactor = 0;
+    /**
+     * The number of iterations between two measures of the branching factor for the stop criterion.
+     */
+    private int branchingFactorInterval = 10;
+    /**
+     * The number of iterations of the last solve, including the runs continuing it.
+     */
+    private volatile int completedIterations;
+    /**
+     * The iteration of the last improvement of the best tour, for the stop criterion without improvement.
+     */
+    private int lastImprovement;
 
     /**
      * Constructor.
@@ -78,8 +155,24 @@ public abstract class AntColonyOptimization {
      * @param problem The problem to solve.
      */
     public AntColonyOptimization(ProblemInstance problem) {
+        this(problem, new Graph(problem.getVertices(), problem.getDemands()));
+    }
+
+    /**
+     * Constructor.
+     * Construct the ants on the given graph and put the ants at their starting place.
+     *
+     * @param problem The problem to solve.
+     * @param graph   The graph of the problem, e.g. with another matrix layout.
+     */
+    public AntColonyOptimization(ProblemInstance problem, Graph graph) {
         this.problem = problem;
-        this.graph = new Graph(problem.getVertices(), problem.getDemands());
+        this.graph = graph;
+        this.choiceInfo = new ChoiceInfo(this, graph);
+        this.verticesByDemand = sortVerticesByDemand(graph);
+        // a sparse graph brings its nearest neighbors as candidate lists
+        if (graph.hasNearestNeighbors())
+            this.candidateListSize = graph.getNearestNeighbors(0).length;
         this.numberOfAnts = problem.getNumOfVertices();
         this.ants = new Ant[numberOfAnts];
         initializeAnts();
@@ -88,15 +181,116 @@ public abstract class AntColonyOptimization {
 
     /**
      * Solve the Problem.
+     * Runs the number of iterations, unless a stop criterion is met before.
      */
     public void solve() {
-        for (int i = 0; i < numberOfIterations; i++) {
-            constructAntsSolutions();
-            updateSolution();
-            updatePheromones();
+        solve(numberOfIterations, Long.MAX_VALUE);
+    }
+
+    /**
+     * Solve the Problem within a time budget.
+     * Runs iterations until the time budget is used up or a stop criterion is met, the number of iterations is not
+     * considered. The iteration running at the end of the budget is completed. The best tour can be read at any time.
+     *
+     * @param timeBudgetInMillis The time budget in milliseconds.
+     */
+    public void solve(long timeBudgetInMillis) {
+        if (timeBudgetInMillis <= 0)
+            throw new IllegalArgumentException("The time budget has to be greater than 0");
+        solve(Integer.MAX_VALUE, timeBudgetInMillis * 1_000_000);
+    }
+
+    /**
+     * Runs the iterations until the number of iterations, the time budget or a stop criterion is reached.
+     *
+     * @param maxIterations     The maximal number of iterations.
+     * @param timeBudgetInNanos The time budget in nanoseconds.
+     */
+    private void solve(int maxIterations, long timeBudgetInNanos) {
+        long start = System.nanoTime();
+        startNewRun();
+        runIterations(maxIterations, start, timeBudgetInNanos);
+    }
+
+    /**
+     * Makes the next run start like a solve, with the cached products initialized and the counters reset.
+     */
+    void startNewRun() {
+        completedIterations = 0;
+        depositRule.reset();
+    }
+
+    /**
+     * Runs further iterations, continuing the last solve or run with its pheromones and stop criteria.
+     * The first run of a colony starts like a solve.
+     *
+     * @param iterations The number of iterations.
+     * @return <CODE>true</CODE> if a stop criterion was met, <CODE>false</CODE> otherwise
+     */
+    public boolean runIterations(int iterations) {
+        if (iterations < 1)
+            throw new IllegalArgumentException("The number of iterations has to be greater than 0");
+        return runIterations(iterations, System.nanoTime(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs further iterations until their number, the time budget or a stop criterion is reached.
+     * The time budget is checked after every iteration.
+     *
+     * @param iterations        The maximal number of iterations.
+     * @param start             The start of the time budget, as {@link System#nanoTime()}.
+     * @param timeBudgetInNanos The time budget in nanoseconds.
+     * @return <CODE>true</CODE> if a stop criterion was met, <CODE>false</CODE> otherwise
+     */
+    boolean runIterations(int iterations, long start, long timeBudgetInNanos) {
+        if (isParallel())
+            executor = Executors.newFixedThreadPool(numberOfThreads);
+        if (completedIterations == 0) {
+            choiceInfo.initialize();
+            lastImprovement = 0;
+        }
+        try {
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                constructAntsSolutions();
+                applyLocalSearch();
+                boolean improved = updateSolution();
+                updatePheromones();
+                completedIterations++;
+                if (improved)
+                    lastImprovement = completedIterations;
+
+                if (isStopCriterionMet(completedIterations - lastImprovement))
+                    return true;
+                if (System.nanoTime() - start >= timeBudgetInNanos)
+                    return false;
+            }
+            return false;
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
         }
     }
 
+    /**
+     * Sorts the vertices by decreasing demand, vertices with equal demand by their index.
+     *
+     * @param graph The graph with the demands.
+     * @return The vertices ordered by decreasing demand.
+     */
+    private static int[] sortVerticesByDemand(Graph graph) {
+        int numOfVertices = graph.getNumOfVertices();
+        long[] keys = new long[numOfVertices];
+        for (int i = 0; i < numOfVertices; i++)
+            keys[i] = ((long) (Integer.MAX_VALUE - graph.getDemands(i)) << 32) | i;
+        Arrays.sort(keys);
+        int[] vertices = new int[numOfVertices];
+        for (int k = 0; k < numOfVertices; k++)
+            vertices[k] = (int) keys[k];
+        return vertices;
+    }
+
     /**
      * Initializes the ants.
      */
@@ -124,55 +318,159 @@ public abstract class AntColonyOptimization {
     }
 
     /**
-     * Initializes the not visited vertices for each ant.
+     * Initializes the not visited vertices for an ant.
      *
-     * @param startingVertex The starting vertex of the ant.
-     * @return A list of not visited vertices for the ant.
+     * @param startingVertex     The starting vertex of the ant.
+     * @param notVisitedVertices The set of the ant to fill with the not visited vertices.
      */
-    public ArrayList<Integer> initializeNotVisitedVertices(int startingVertex) {
-        ArrayList<Integer> notVisitedVertices = new ArrayList<>();
+    public void initializeNotVisitedVertices(int startingVertex, SparseSet notVisitedVertices) {
+        notVisitedVertices.clear();
         for (int i = 0; i < graph.getNumOfVertices(); i++) {
             if (i != startingVertex)
                 notVisitedVertices.add(i);
         }
-        return notVisitedVertices;
     }
 
     /**
      * Construct solutions.
      */
     private void constructAntsSolutions() {
+        if (isParallel()) {
+            constructAntsSolutionsInParallel();
+            applyDeferredLocalPheromoneUpdates();
+        } else {
+            for (Ant ant : ants)
+                ant.run();
+        }
+    }
+
+    /**
+     * Construct solutions by spreading the ants across the worker pool.
+     * Returns after all ants have finished their tours.
+     */
+    private void constructAntsSolutionsInParallel() {
+        List<Callable<Object>> tasks = new ArrayList<>(numberOfAnts);
         for (Ant ant : ants)
-            ant.run();
+            tasks.add(Executors.callable(ant));
+        try {
+            // invokeAll blocks until every ant is done and therefore acts as the barrier
+            for (Future<Object> future : executor.invokeAll(tasks))
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The construction of the solutions was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("An ant failed to construct its solution.", e.getCause());
+        }
+    }
+
+    /**
+     * Applies the local pheromone updates of all ants after a parallel construction.
+     * While constructing in parallel the ants only read the pheromones and record the edges of their selections, so
+     * the result does not depend on the scheduling. Every local update applies the same rule to the recorded edges,
+     * the resulting pheromones are therefore equal to applying the updates during the construction, only the ants of
+     * the same iteration do not see them.
+     */
+    private void applyDeferredLocalPheromoneUpdates() {
+        if (antPheromoneRule == null)
+            return;
+        for (Ant ant : ants) {
+            for (int k = 0; k < ant.getNumOfSelectedEdges(); k++)
+                antPheromoneRule.updateTau(ant.getSelectedEdgeStart(k), ant.getSelectedEdgeEnd(k));
+        }
+    }
+
+    /**
+     * Improves the solutions with the local search if available, either of all ants or of the iteration best ant.
+     * The local search runs sequentially, it reuses its buffers for every ant.
+     */
+    private void applyLocalSearch() {
+        if (localSearch == null)
+            return;
+        if (localSearchOnAllAnts) {
+            for (Ant ant : ants)
+                ant.improve(localSearch);
+            return;
+        }
+        Ant iterationBestAnt = ants[0];
+        for (Ant ant : ants) {
+            if (ant.getTourLength() < iterationBestAnt.getTourLength())
+                iterationBestAnt = ant;
+        }
+        iterationBestAnt.improve(localSearch);
     }
 
     /**
      * Updates the best solution.
+     *
+     * @return <CODE>true</CODE> if an ant found a better tour, <CODE>false</CODE> otherwise
      */
-    private void updateSolution() {
+    private boolean updateSolution() {
+        Ant iterationBestAnt = null;
         for (Ant ant : ants) {
-            if (bestAnt == null || ant.getTourLength() < bestAnt.getTourLength()) {
-                bestAnt = ant.clone();
-            }
+            if (iterationBestAnt == null || ant.getTourLength() < iterationBestAnt.getTourLength())
+                iterationBestAnt = ant;
         }
+        if (bestAnt != null && iterationBestAnt.getTourLength() >= bestAnt.getTourLength())
+            return false;
+        bestAnt = iterationBestAnt.clone();
+        return true;
+    }
+
+    /**
+     * Describes whether a stop criterion is met after an iteration.
+     *
+     * @param iterationsWithoutImprovement The number of iterations since the last improvement of the best tour.
+     * @return <CODE>true</CODE> if the solve has to stop, <CODE>false</CODE> otherwise
+     */
+    private boolean isStopCriterionMet(int iterationsWithoutImprovement) {
+        if (targetCost > 0 && bestAnt.getTourLength() <= targetCost)
+            return true;
+        if (maxIterationsWithoutImprovement > 0 && iterationsWithoutImprovement >= maxIterationsWithoutImprovement)
+            return true;
+        if (minBranchingFactor == 0 || completedIterations % branchingFactorInterval != 0)
+            return false;
+        return graph.computeBranchingFactor(BRANCHING_LAMBDA) <= minBranchingFactor;
+    }
+
+    /**
+     * Evaporates the pheromones of all edges with the rate rho.
+     *
+     * @return <CODE>true</CODE> if the stored values of all edges were changed, <CODE>false</CODE> otherwise
+     */
+    protected boolean evaporate() {
+        return graph.evaporate(rho);
     }
 
     /**
      * Updates the pheromones.
+     * Evaporates on all edges, then the deposit rule deposits along the tours of the depositing ants.
+     * The deposit refreshes the choice info of its edges, all products are only refreshed if the evaporation
+     * changed all edges.
      */
     private void updatePheromones() {
-        for (int i = 0; i < graph.getNumOfVertices(); i++) {
-            for (int j = i + 1; j < graph.getNumOfVertices(); j++) {
-                // do evaporation
-                graph.setTau(i, j, (1 - rho) * graph.getTau(i, j));
+        // do evaporation
+        boolean evaporatedAllEdges = evaporate();
 
-                // do deposit
-                graph.setTau(i, j, depositRule.getNewTau(i, j));
+        // do deposit
+        depositRule.deposit();
 
-                // set symmetric tau
-                graph.setTau(j, i, graph.getTau(i, j));
-            }
-        }
+        if (evaporatedAllEdges || depositRule.changesAllEdges())
+            choiceInfo.update();
+    }
+
+    /**
+     * Deposits the pheromones of a tour found outside of the colony, e.g. a migrant of another colony.
+     * The deposit rule decides how the tour enters the pheromones, so its limits or its population are kept.
+     *
+     * @param tour       The tour.
+     * @param tourLength The length of the tour.
+     * @param weight     The weight of the deposit.
+     */
+    public void depositMigrant(int[] tour, int tourLength, double weight) {
+        depositRule.depositMigrant(tour, tourLength, weight);
+        if (depositRule.changesAllEdges())
+            choiceInfo.update();
     }
 
     /**
@@ -246,6 +544,7 @@ public abstract class AntColonyOptimization {
 
     /**
      * Sets the initial tau value of the graph.
+     * The pheromones are reinitialized, so the deposit rule is reset.
      *
      * @param initialTau The new initial tau value.
      */
@@ -253,6 +552,43 @@ public abstract class AntColonyOptimization {
         if (initialTau <= 0)
             throw new IllegalArgumentException("The initial tau has to be greater than 0");
         graph.setInitialTau(initialTau);
+        if (depositRule != null)
+            depositRule.reset();
+    }
+
+    /**
+     * Sets the initial tau value derived from the length of a good tour, e.g. of a construction heuristic.
+     *
+     * @param tourLength The length of the tour.
+     */
+    public void setInitialTauFromTourLength(int tourLength) {
+        if (tourLength <= 0)
+            throw new IllegalArgumentException("The tour length has to be greater than 0");
+        setInitialTau(computeInitialTau(tourLength));
+    }
+
+    /**
+     * Computes the initial tau value from the length of a good tour.
+     * The Ant System deposits the trail of all ants, so it starts with m / L.
+     *
+     * @param tourLength The length of the tour.
+     * @return The initial tau value.
+     */
+    protected double computeInitialTau(int tourLength) {
+        return (double) numberOfAnts / tourLength;
+    }
+
+    /**
+     * Sets a tour as the best solution found so far, e.g. the solution of a construction heuristic.
+     * The ants have to improve it to replace it.
+     *
+     * @param tour The tour, starting and ending at the depot.
+     */
+    public void setInitialSolution(int[] tour) {
+        // the clone shares the random stream, so the streams of the ants stay the same
+        Ant ant = ants[0].clone();
+        ant.setTour(tour);
+        bestAnt = ant;
     }
 
     /**
@@ -299,6 +635,277 @@ public abstract class AntColonyOptimization {
         initializeAntPositionsAtDepot();
     }
 
+    /**
+     * Gets the number of threads to construct the solutions.
+     *
+     * @return The number of threads.
+     */
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    /**
+     * Sets the number of threads to construct the solutions.
+     * With more than one thread the ants construct their solutions in parallel.
+     *
+     * @param numberOfThreads The new number of threads.
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        if (numberOfThreads < 1)
+            throw new IllegalArgumentException("The number of threads has to be greater than 0");
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * Describes whether the ants construct their solutions in parallel.
+     *
+     * @return <CODE>true</CODE> if the construction is parallel, <CODE>false</CODE> otherwise
+     */
+    public boolean isParallel() {
+        return numberOfThreads > 1;
+    }
+
+    /**
+     * Describes whether the evaporation is applied lazily.
+     *
+     * @return <CODE>true</CODE> if the evaporation is lazy, <CODE>false</CODE> otherwise
+     */
+    public boolean isLazyEvaporation() {
+        return graph.isLazyEvaporation();
+    }
+
+    /**
+     * Sets whether the evaporation is applied lazily.
+     * With lazy evaporation the pheromones are only decayed when they are read, so updating the pheromones
+     * only costs as much as the deposit on the tours.
+     *
+     * @param lazyEvaporation <CODE>true</CODE> for lazy evaporation, <CODE>false</CODE> otherwise
+     */
+    public void setLazyEvaporation(boolean lazyEvaporation) {
+        graph.setLazyEvaporation(lazyEvaporation);
+    }
+
+    /**
+     * Gets the size of the candidate lists.
+     *
+     * @return The number of nearest neighbors in the candidate list of each vertex.
+     */
+    public int getCandidateListSize() {
+        return candidateListSize;
+    }
+
+    /**
+     * Sets the size of the candidate lists and computes them.
+     * With candidate lists the ants only consider the nearest neighbors of their current vertex,
+     * zero disables the candidate lists. On a sparse graph the size is limited to the stored nearest neighbors.
+     *
+     * @param candidateListSize The new number of nearest neighbors in the candidate list of each vertex.
+     */
+    public void setCandidateListSize(int candidateListSize) {
+        if (candidateListSize < 0)
+            throw new IllegalArgumentException("The size of the candidate lists has to be greater than 0");
+        this.candidateListSize = Math.min(candidateListSize, graph.getNumOfStoredNeighbors());
+        if (this.candidateListSize > 0)
+            graph.initializeNearestNeighbors(this.candidateListSize);
+        else
+            graph.clearNearestNeighbors();
+    }
+
+    /**
+     * Describes whether the ants use candidate lists.
+     *
+     * @return <CODE>true</CODE> if candidate lists are used, <CODE>false</CODE> otherwise
+     */
+    public boolean hasCandidateLists() {
+        return candidateListSize > 0;
+    }
+
+    /**
+     * Gets the candidate list of a vertex.
+     *
+     * @param i The vertex.
+     * @return The nearest neighbors of vertex i, ordered by distance.
+     */
+    public int[] getCandidateList(int i) {
+        return graph.getNearestNeighbors(i);
+    }
+
+    /**
+     * Gets the storage positions of the edges from a vertex to its candidates, in the order of the candidate list.
+     *
+     * @param i The vertex.
+     * @return The positions of the edges to the candidates of vertex i.
+     */
+    public int[] getCandidatePositions(int i) {
+        return graph.getNearestNeighborPositions(i);
+    }
+
+    /**
+     * Gets the local search.
+     *
+     * @return The local search or null if the solutions are not improved.
+     */
+    public LocalSearch getLocalSearch() {
+        return localSearch;
+    }
+
+    /**
+     * Sets the local search to improve the solutions before the pheromone update.
+     *
+     * @param localSearch The local search or null to not improve the solutions.
+     */
+    public void setLocalSearch(LocalSearch localSearch) {
+        this.localSearch = localSearch;
+    }
+
+    /**
+     * Describes whether the local search improves the solutions of all ants.
+     *
+     * @return <CODE>true</CODE> if all solutions are improved, <CODE>false</CODE> if only the iteration best one
+     */
+    public boolean isLocalSearchOnAllAnts() {
+        return localSearchOnAllAnts;
+    }
+
+    /**
+     * Sets whether the local search improves the solutions of all ants or only the iteration best solution.
+     *
+     * @param localSearchOnAllAnts <CODE>true</CODE> to improve all solutions, <CODE>false</CODE> for the best one
+     */
+    public void setLocalSearchOnAllAnts(boolean localSearchOnAllAnts) {
+        this.localSearchOnAllAnts = localSearchOnAllAnts;
+    }
+
+    /**
+     * Gets the target cost, the solve stops as soon as the best tour is not longer.
+     *
+     * @return The target cost or zero if there is no target cost.
+     */
+    public int getTargetCost() {
+        return targetCost;
+    }
+
+    /**
+     * Sets the target cost, e.g. the optimal value of the problem. The solve stops as soon as the best tour is not
+     * longer.
+     *
+     * @param targetCost The target cost or zero for no target cost.
+     */
+    public void setTargetCost(int targetCost) {
+        if (targetCost < 0)
+            throw new IllegalArgumentException("The target cost cannot be negative");
+        this.targetCost = targetCost;
+    }
+
+    /**
+     * Gets the number of iterations without an improvement of the best tour after which the solve stops.
+     *
+     * @return The number of iterations or zero if there is no limit.
+     */
+    public int getMaxIterationsWithoutImprovement() {
+        return maxIterationsWithoutImprovement;
+    }
+
+    /**
+     * Sets the number of iterations without an improvement of the best tour after which the solve stops.
+     *
+     * @param maxIterationsWithoutImprovement The number of iterations or zero for no limit.
+     */
+    public void setMaxIterationsWithoutImprovement(int maxIterationsWithoutImprovement) {
+        if (maxIterationsWithoutImprovement < 0)
+            throw new IllegalArgumentException("The number of iterations cannot be negative");
+        this.maxIterationsWithoutImprovement = maxIterationsWithoutImprovement;
+    }
+
+    /**
+     * Gets the average branching factor of the pheromones at which the solve stops as stagnated.
+     *
+     * @return The branching factor or zero if the stagnation is not measured.
+     */
+    public double getMinBranchingFactor() {
+        return minBranchingFactor;
+    }
+
+    /**
+     * Sets the average branching factor of the pheromones at which the solve stops as stagnated, e.g. slightly above
+     * two. The branching factor is computed over the stored edges in the interval of the branching factor measures.
+     *
+     * @param minBranchingFactor The branching factor or zero to not measure the stagnation.
+     */
+    public void setMinBranchingFactor(double minBranchingFactor) {
+        if (minBranchingFactor < 0)
+            throw new IllegalArgumentException("The branching factor cannot be negative");
+        this.minBranchingFactor = minBranchingFactor;
+    }
+
+    /**
+     * Gets the number of iterations between two measures of the branching factor for the stop criterion.
+     *
+     * @return The interval of the branching factor measures.
+     */
+    public int getBranchingFactorInterval() {
+        return branchingFactorInterval;
+    }
+
+    /**
+     * Sets the number of iterations between two measures of the branching factor for the stop criterion.
+     *
+     * @param branchingFactorInterval The new interval of the branching factor measures.
+     */
+    public void setBranchingFactorInterval(int branchingFactorInterval) {
+        if (branchingFactorInterval < 1)
+            throw new IllegalArgumentException("The branching factor interval has to be greater than 0");
+        this.branchingFactorInterval = branchingFactorInterval;
+    }
+
+    /**
+     * Gets the number of iterations of the last solve, including the runs continuing it, also while solving.
+     *
+     * @return The number of completed iterations.
+     */
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    /**
+     * Describes whether the ants construct a giant tour and split it into routes.
+     *
+     * @return <CODE>true</CODE> if the giant tour is split, <CODE>false</CODE> if the routes are closed greedily
+     */
+    public boolean isGiantTourSplit() {
+        return giantTourSplit;
+    }
+
+    /**
+     * Sets whether the ants construct a giant tour and split it into the routes with the shortest total length.
+     *
+     * @param giantTourSplit <CODE>true</CODE> to split a giant tour, <CODE>false</CODE> to close the routes greedily
+     */
+    public void setGiantTourSplit(boolean giantTourSplit) {
+        this.giantTourSplit = giantTourSplit;
+    }
+
+    /**
+     * Gets the provider of the random streams.
+     *
+     * @return The random provider.
+     */
+    public RandomProvider getRandomProvider() {
+        return randomProvider;
+    }
+
+    /**
+     * Sets the seed for the random streams.
+     * Initializes the ants, so that each ant gets a reproducible random stream.
+     * With the same seed and parameters a run constructs the same solutions, sequential or in parallel.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        this.randomProvider = new RandomProvider(seed);
+        initializeAnts();
+    }
+
     /**
      * Gets the position of the ant with the specific id.
      *
@@ -318,15 +925,33 @@ public abstract class AntColonyOptimization {
         return bestAnt.getTour();
     }
 
+    /**
+     * Gets the best solution with routes.
+     *
+     * @return The best solution.
+     */
+    public Solution getBestSolution() {
+        return bestAnt.getSolution();
+    }
+
     /**
      * Gets the length of the best tour.
      *
      * @return The length of the best tour.
      */
-    public double getBestTourLength() {
+    public int getBestTourLength() {
         return bestAnt.getTourLength();
     }
 
+    /**
+     * Gets the graph which represents the environment.
+     *
+     * @return The graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
     /**
      * Gets the number of vertices of the graph.
      *
@@ -347,6 +972,17 @@ public abstract class AntColonyOptimization {
         return graph.getDistance(i, j);
     }
 
+    /**
+     * Gets the distance for the edge(i,j) as a whole number.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     * @return Cost of the edge(i,j).
+     */
+    public int getCost(int i, int j) {
+        return graph.getCost(i, j);
+    }
+
     /**
      * Gets the pheromone value of the edge(i,j).
      *
@@ -358,6 +994,46 @@ public abstract class AntColonyOptimization {
         return graph.getTau(i, j);
     }
 
+    /**
+     * Gets the cached product tau^alpha * eta^beta of the edge(i,j).
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     * @return The product of pheromone intensity and visibility of the edge(i,j).
+     */
+    public double getChoiceInfo(int i, int j) {
+        return choiceInfo.get(i, j);
+    }
+
+    /**
+     * Gets the cached product tau^alpha * eta^beta of a stored edge.
+     *
+     * @param position The storage position of the edge.
+     * @return The product of pheromone intensity and visibility of the edge.
+     */
+    public double getChoiceInfoAt(int position) {
+        return choiceInfo.getAt(position);
+    }
+
+    /**
+     * Updates the cached product of the edge(i,j) in both directions, after its tau value has been changed.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     */
+    public void updateChoiceInfo(int i, int j) {
+        choiceInfo.update(i, j);
+    }
+
+    /**
+     * Updates the cached product of a stored edge, after its tau value has been changed.
+     *
+     * @param position The storage position of the edge.
+     */
+    public void updateChoiceInfoAt(int position) {
+        choiceInfo.updateAt(position);
+    }
+
     /**
      * Sets the tau value of the edge(i,j).
      *
@@ -369,6 +1045,37 @@ public abstract class AntColonyOptimization {
         graph.setTau(i, j, value);
     }
 
+    /**
+     * Gets the storage position of the edge(i,j), for the accessors by position.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     * @return The position of the edge, -1 if the edge is not stored.
+     */
+    public int getPosition(int i, int j) {
+        return graph.getPosition(i, j);
+    }
+
+    /**
+     * Gets the tau value of a stored edge.
+     *
+     * @param position The storage position of the edge.
+     * @return Pheromone value of the edge.
+     */
+    public double getTauAt(int position) {
+        return graph.getTauAt(position);
+    }
+
+    /**
+     * Sets the tau value of a stored edge.
+     *
+     * @param position The storage position of the edge.
+     * @param value    The new pheromone value of the edge.
+     */
+    public void setTauAt(int position, double value) {
+        graph.setTauAt(position, value);
+    }
+
     /**
      * Gets the demand of a vertex.
      *
@@ -379,6 +1086,16 @@ public abstract class AntColonyOptimization {
         return graph.getDemands(i);
     }
 
+    /**
+     * Gets the vertex at a position of the vertices ordered by decreasing demand.
+     *
+     * @param position The position, zero for the vertex with the largest demand.
+     * @return The vertex.
+     */
+    public int getVertexByDecreasingDemand(int position) {
+        return verticesByDemand[position];
+    }
+
     /**
      * Gets the ant exploration rule.
      *
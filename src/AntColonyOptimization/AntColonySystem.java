@@ -4,6 +4,7 @@ import AntColonyOptimization.Ant.ExplorationRules.PseudoRandomExploration;
 import AntColonyOptimization.Ant.PheromoneRules.PheromoneUpdateEveryStep;
 import AntColonyOptimization.Ant.SelectionRules.RouletteWheelSelection;
 import AntColonyOptimization.DepositRules.DepositACS;
+import Graph.Graph;
 import Utilities.ProblemInstance;
 
 /**
@@ -29,6 +30,33 @@ public class AntColonySystem extends AntSystem {
         setDepositRule(new DepositACS(this));
     }
 
+    /**
+     * Constructor.
+     * Construct the ants on the given graph and put the ants at their starting place.
+     * The value of q0 is 0.5 if not set.
+     *
+     * @param problem The problem to solve.
+     * @param graph   The graph of the problem, e.g. with another matrix layout.
+     */
+    public AntColonySystem(ProblemInstance problem, Graph graph) {
+        super(problem, graph);
+        setAntExplorationRule(new PseudoRandomExploration(new RouletteWheelSelection(), 0.5));
+        setAntPheromoneRule(new PheromoneUpdateEveryStep(this));
+        setDepositRule(new DepositACS(this));
+    }
+
+    /**
+     * Computes the initial tau value from the length of a good tour.
+     * The Ant Colony System only deposits the trail of the best ant, so it starts with 1 / (n * L).
+     *
+     * @param tourLength The length of the tour.
+     * @return The initial tau value.
+     */
+    @Override
+    protected double computeInitialTau(int tourLength) {
+        return 1.0 / ((double) getNumOfVertices() * tourLength);
+    }
+
     /**
      * Gets the value of q0.
      *
@@ -3,6 +3,7 @@ package AntColonyOptimization;
 import AntColonyOptimization.Ant.ExplorationRules.RandomExploration;
 import AntColonyOptimization.Ant.SelectionRules.RouletteWheelSelection;
 import AntColonyOptimization.DepositRules.DepositAS;
+import Graph.Graph;
 import Utilities.ProblemInstance;
 
 /**
@@ -20,4 +21,17 @@ public class AntSystem extends AntColonyOptimization {
         setAntExplorationRule(new RandomExploration(new RouletteWheelSelection()));
         setDepositRule(new DepositAS(this));
     }
+
+    /**
+     * Constructor.
+     * Construct the ants on the given graph and put the ants at their starting place.
+     *
+     * @param problem The problem to solve.
+     * @param graph   The graph of the problem, e.g. with another matrix layout.
+     */
+    public AntSystem(ProblemInstance problem, Graph graph) {
+        super(problem, graph);
+        setAntExplorationRule(new RandomExploration(new RouletteWheelSelection()));
+        setDepositRule(new DepositAS(this));
+    }
 }
\ No newline at end of file
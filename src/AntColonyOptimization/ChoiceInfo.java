@@ -0,0 +1,178 @@
+package AntColonyOptimization;
+
+import Graph.DoubleMatrix;
+import Graph.FloatMatrix;
+import Graph.Graph;
+import Graph.Matrix;
+import Graph.MatrixIndex;
+
+/**
+ * Caches the products of the pheromone intensity and the visibility of each edge, tau^alpha * eta^beta.
+ * The cache has the index of the graph and the precision of its pheromones. The visibility eta^beta is computed once
+ * per problem and beta into a second table of the same kind, so an update only computes the intensity of the trails.
+ * The products use the relative tau values of the graph, with lazy evaporation they are proportional to the
+ * actual products by the same factor for all edges, which does not change any selection.
+ */
+public class ChoiceInfo {
+    /**
+     * The ant colony optimization algorithm.
+     */
+    private final AntColonyOptimization aco;
+    /**
+     * The graph with the pheromones and distances.
+     */
+    private final Graph graph;
+    /**
+     * The index of the matrices, the same as the index of the graph.
+     */
+    private final MatrixIndex index;
+    /**
+     * The visibility eta^beta of each edge.
+     */
+    private final Matrix heuristicInfo;
+    /**
+     * The beta value of the visibility, NaN if the visibility is not computed yet.
+     */
+    private double heuristicBeta = Double.NaN;
+    /**
+     * The product tau^alpha * eta^beta of each edge.
+     */
+    private final Matrix choiceInfo;
+
+    /**
+     * Constructor.
+     *
+     * @param aco   The ant colony optimization algorithm.
+     * @param graph The graph, the matrices use its index.
+     */
+    public ChoiceInfo(AntColonyOptimization aco, Graph graph) {
+        this.aco = aco;
+        this.graph = graph;
+        this.index = graph.getIndex();
+        this.heuristicInfo = createMatrix();
+        this.choiceInfo = createMatrix();
+    }
+
+    /**
+     * Creates a matrix with the index of the graph and the precision of its pheromones.
+     *
+     * @return The matrix.
+     */
+    private Matrix createMatrix() {
+        return graph.hasSinglePrecisionPheromones() ? new FloatMatrix(index) : new DoubleMatrix(index);
+    }
+
+    /**
+     * Computes the visibility of all edges if beta has changed and the products of all edges.
+     * Has to be called before solving, after beta has been set.
+     */
+    public void initialize() {
+        double beta = aco.getBeta();
+        if (beta != heuristicBeta) {
+            for (int position = 0; position < index.length(); position++)
+                heuristicInfo.setAt(position, computeHeuristicInfo(graph.getCostAt(position)));
+            heuristicBeta = beta;
+        }
+        update();
+    }
+
+    /**
+     * Updates the products of all edges, after the pheromones have been updated.
+     * The products only depend on the stored entries, so the storage is updated in order.
+     */
+    public void update() {
+        for (int position = 0; position < index.length(); position++)
+            choiceInfo.setAt(position, computeChoiceInfoAt(position));
+    }
+
+    /**
+     * Updates the products of the edge(i,j) in both directions, after its tau value has been changed.
+     * Ignored for an edge which is not stored by a sparse graph.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     */
+    public void update(int i, int j) {
+        int position = index.index(i, j);
+        if (position < 0)
+            return;
+        updateAt(position);
+        if (!index.isSymmetric())
+            updateAt(index.index(j, i));
+    }
+
+    /**
+     * Updates the product of a stored edge, after its tau value has been changed.
+     *
+     * @param position The storage position of the edge.
+     */
+    public void updateAt(int position) {
+        choiceInfo.setAt(position, computeChoiceInfoAt(position));
+    }
+
+    /**
+     * Gets the product tau^alpha * eta^beta of the edge(i,j).
+     * Computed for an edge which is not stored by a sparse graph.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     * @return The product of the edge(i,j).
+     */
+    public double get(int i, int j) {
+        int position = index.index(i, j);
+        return position >= 0 ? choiceInfo.getAt(position) : computeChoiceInfo(i, j);
+    }
+
+    /**
+     * Gets the product tau^alpha * eta^beta of a stored edge.
+     *
+     * @param position The storage position of the edge.
+     * @return The product of the edge.
+     */
+    public double getAt(int position) {
+        return choiceInfo.getAt(position);
+    }
+
+    /**
+     * Computes the product tau^alpha * eta^beta of the edge(i,j), which is not stored by a sparse graph.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     * @return The product of the edge(i,j).
+     */
+    private double computeChoiceInfo(int i, int j) {
+        return computeIntensity(graph.getRelativeTau(i, j)) * computeHeuristicInfo(graph.getDistance(i, j));
+    }
+
+    /**
+     * Computes the product tau^alpha * eta^beta of a stored edge.
+     *
+     * @param position The storage position of the edge.
+     * @return The product of the edge.
+     */
+    private double computeChoiceInfoAt(int position) {
+        return computeIntensity(graph.getRelativeTauAt(position)) * heuristicInfo.getAt(position);
+    }
+
+    /**
+     * Computes the intensity of the trail tau^alpha.
+     *
+     * @param tau The relative tau value.
+     * @return The intensity of the trail.
+     */
+    private double computeIntensity(double tau) {
+        // the power is skipped for the default alpha
+        return aco.getAlpha() == 1.0 ? tau : Math.pow(tau, aco.getAlpha());
+    }
+
+    /**
+     * Computes the visibility eta^beta of an edge.
+     *
+     * @param distance The distance of the edge.
+     * @return The visibility of the edge.
+     */
+    private double computeHeuristicInfo(double distance) {
+        // calculate the visibility of the trail, quantity = 1 / d_ij
+        return Math.pow(1 / distance, aco.getBeta());
+    }
+}
@@ -22,12 +22,8 @@ public class DepositACS extends DepositRule {
      * Only best ants.
      */
     @Override
-    protected double getDeltaTau(int i, int j) {
-        double deltaTau = 0.0;
-        // accumulate if the edge was used
+    public void deposit() {
         Ant ant = aco.getBestAnt();
-        if (ant.getPathValue(i, j) == 1)
-            deltaTau += AntColonyOptimization.Q / ant.getTourLength();
-        return deltaTau;
+        depositOnTour(ant, AntColonyOptimization.Q / ant.getTourLength());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package AntColonyOptimization.DepositRules;
+
+import AntColonyOptimization.Ant.Ant;
+import AntColonyOptimization.AntColonyOptimization;
+
+/**
+ * Deposit Rule for the elitist ant system.
+ */
+public class DepositElitist extends DepositRule {
+    /**
+     * The weight e of the deposit of the best-so-far ant.
+     */
+    private final double elitistWeight;
+
+    /**
+     * Constructor.
+     * All ants do deposit pheromones, the best-so-far ant with the weight of the number of vertices.
+     *
+     * @param aco The ant colony optimization algorithm.
+     */
+    public DepositElitist(AntColonyOptimization aco) {
+        this(aco, aco.getNumOfVertices());
+    }
+
+    /**
+     * Constructor.
+     * All ants do deposit pheromones, the best-so-far ant additionally with a weight.
+     *
+     * @param aco           The ant colony optimization algorithm.
+     * @param elitistWeight The weight e of the deposit of the best-so-far ant.
+     */
+    public DepositElitist(AntColonyOptimization aco, double elitistWeight) {
+        super(aco, 1);
+        if (elitistWeight < 0)
+            throw new IllegalArgumentException("The elitist weight cannot be negative.");
+        this.elitistWeight = elitistWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Over all ants and weighted over the best-so-far ant.
+     */
+    @Override
+    public void deposit() {
+        for (Ant ant : aco.getAnts())
+            depositOnTour(ant, AntColonyOptimization.Q / ant.getTourLength());
+
+        Ant bestAnt = aco.getBestAnt();
+        depositOnTour(bestAnt, elitistWeight * AntColonyOptimization.Q / bestAnt.getTourLength());
+    }
+}
@@ -0,0 +1,103 @@
+package AntColonyOptimization.DepositRules;
+
+import AntColonyOptimization.Ant.Ant;
+import AntColonyOptimization.AntColonyOptimization;
+import AntColonyOptimization.MaxMinAntSystem;
+
+/**
+ * Deposit Rule for the MAX-MIN ant system.
+ */
+public class DepositMMAS extends DepositRule {
+    /**
+     * The MAX-MIN ant system with the limits of the pheromones.
+     */
+    private final MaxMinAntSystem mmas;
+    /**
+     * The number of deposits since the start of the run or the last reinitialization, one per iteration.
+     */
+    private int numOfDeposits = 0;
+
+    /**
+     * Constructor.
+     * Only the iteration best or the best-so-far ant does deposit pheromones.
+     *
+     * @param mmas The MAX-MIN ant system.
+     */
+    public DepositMMAS(MaxMinAntSystem mmas) {
+        super(mmas, 1);
+        this.mmas = mmas;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The iteration best ant, in the interval of the best-so-far ant that one. Then the pheromones are limited, or
+     * reinitialized if the search stagnated.
+     */
+    @Override
+    public void deposit() {
+        numOfDeposits++;
+        Ant ant = numOfDeposits % mmas.getBestSoFarInterval() == 0 ? aco.getBestAnt() : getIterationBestAnt();
+        depositOnTour(ant, AntColonyOptimization.Q / ant.getTourLength());
+
+        if (isStagnated()) {
+            aco.setInitialTau(mmas.getMaxTau());
+            return;
+        }
+        aco.getGraph().clampTau(mmas.getMinTau(), mmas.getMaxTau());
+    }
+
+    /**
+     * {@inheritDoc}
+     * Then the pheromones are limited, the deposit does not count as an iteration.
+     */
+    @Override
+    public void depositMigrant(int[] tour, int tourLength, double weight) {
+        super.depositMigrant(tour, tourLength, weight);
+        aco.getGraph().clampTau(mmas.getMinTau(), mmas.getMaxTau());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The schedule of the best-so-far ant and of the stagnation checks starts again.
+     */
+    @Override
+    public void reset() {
+        numOfDeposits = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The limits and the reinitialization change all edges.
+     */
+    @Override
+    public boolean changesAllEdges() {
+        return true;
+    }
+
+    /**
+     * Gets the ant with the shortest tour of the iteration.
+     *
+     * @return The iteration best ant.
+     */
+    private Ant getIterationBestAnt() {
+        Ant iterationBestAnt = null;
+        for (Ant ant : aco.getAnts()) {
+            if (iterationBestAnt == null || ant.getTourLength() < iterationBestAnt.getTourLength())
+                iterationBestAnt = ant;
+        }
+        return iterationBestAnt;
+    }
+
+    /**
+     * Describes whether the search stagnated, measured in the interval of the stagnation checks.
+     *
+     * @return <CODE>true</CODE> if the branching factor fell to the reinitialization value, <CODE>false</CODE>
+     * otherwise
+     */
+    private boolean isStagnated() {
+        if (mmas.getReinitializationBranchingFactor() == 0 || numOfDeposits % mmas.getStagnationCheckInterval() != 0)
+            return false;
+        double branchingFactor = aco.getGraph().computeBranchingFactor(AntColonyOptimization.BRANCHING_LAMBDA);
+        return branchingFactor <= mmas.getReinitializationBranchingFactor();
+    }
+}
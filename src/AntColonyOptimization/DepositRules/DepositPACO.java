@@ -0,0 +1,168 @@
+package AntColonyOptimization.DepositRules;
+
+import AntColonyOptimization.Ant.Ant;
+import AntColonyOptimization.PopulationBasedAntColonyOptimization;
+
+/**
+ * Deposit Rule for the population-based ant colony optimization.
+ * The pheromone value of an edge is the initial tau value plus delta tau for every tour of the population using it.
+ * The tour entering the population deposits delta tau, the tour leaving it removes its deposit, so an update costs
+ * the length of two tours instead of a pass over all edges.
+ */
+public class DepositPACO extends DepositRule {
+    /**
+     * The population-based ant colony optimization with the size of the population.
+     */
+    private final PopulationBasedAntColonyOptimization paco;
+    /**
+     * The tours of the population.
+     */
+    private int[][] tours;
+    /**
+     * The number of vertices of each tour of the population.
+     */
+    private int[] tourSizes;
+    /**
+     * The length of each tour of the population.
+     */
+    private int[] tourLengths;
+    /**
+     * The delta tau value deposited by each tour of the population, removed again when it leaves.
+     */
+    private double[] deposits;
+    /**
+     * The number of tours in the population.
+     */
+    private int size = 0;
+    /**
+     * The position of the oldest tour of the population.
+     */
+    private int oldest = 0;
+
+    /**
+     * Constructor.
+     * Only the iteration best ant does enter the population.
+     *
+     * @param paco The population-based ant colony optimization.
+     */
+    public DepositPACO(PopulationBasedAntColonyOptimization paco) {
+        super(paco, 1);
+        this.paco = paco;
+        clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The iteration best ant enters the population, if the population is full the oldest tour leaves it or, with a
+     * quality ranked population, the longest tour if it is longer.
+     */
+    @Override
+    public void deposit() {
+        Ant ant = getIterationBestAnt();
+        int position = makeRoom(ant.getTourLength());
+        if (position < 0)
+            return;
+        for (int k = 0; k < ant.getTourSize(); k++)
+            tours[position][k] = ant.getTourVertex(k);
+        enter(position, ant.getTourSize(), ant.getTourLength(), paco.getDeltaTau());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The tour enters the population like the iteration best ant, the weight applies to the delta tau value of the
+     * population, so the deposit is removed again when the tour leaves.
+     */
+    @Override
+    public void depositMigrant(int[] tour, int tourLength, double weight) {
+        int position = makeRoom(tourLength);
+        if (position < 0)
+            return;
+        System.arraycopy(tour, 0, tours[position], 0, tour.length);
+        enter(position, tour.length, tourLength, weight * paco.getDeltaTau());
+    }
+
+    /**
+     * Makes room for a new tour, if the population is full the oldest tour leaves it or, with a quality ranked
+     * population, the longest tour if it is longer than the new one.
+     *
+     * @param tourLength The length of the new tour.
+     * @return The position of the new tour or -1 if it does not enter the population.
+     */
+    private int makeRoom(int tourLength) {
+        if (size < tours.length)
+            return size++;
+        int position = paco.isQualityRanked() ? getLongestTour() : oldest;
+        if (paco.isQualityRanked() && tourLengths[position] <= tourLength)
+            return -1;
+        depositOnTour(tours[position], tourSizes[position], -deposits[position]);
+        if (!paco.isQualityRanked())
+            oldest = (oldest + 1) % tours.length;
+        return position;
+    }
+
+    /**
+     * Deposits the new tour at its position of the population.
+     *
+     * @param position   The position of the new tour.
+     * @param tourSize   The number of vertices in the new tour.
+     * @param tourLength The length of the new tour.
+     * @param deltaTau   The delta tau value deposited by the new tour.
+     */
+    private void enter(int position, int tourSize, int tourLength, double deltaTau) {
+        tourSizes[position] = tourSize;
+        tourLengths[position] = tourLength;
+        deposits[position] = deltaTau;
+        depositOnTour(tours[position], tourSize, deltaTau);
+    }
+
+    /**
+     * Empties the population, e.g. after the pheromones were reset to the initial tau value.
+     */
+    public void clear() {
+        int populationSize = paco.getPopulationSize();
+        int maxTourSize = 2 * paco.getNumOfVertices();
+        tours = new int[populationSize][maxTourSize];
+        tourSizes = new int[populationSize];
+        tourLengths = new int[populationSize];
+        deposits = new double[populationSize];
+        size = 0;
+        oldest = 0;
+    }
+
+    /**
+     * Gets the number of tours in the population.
+     *
+     * @return The number of tours.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the position of the longest tour of the population.
+     *
+     * @return The position of the longest tour.
+     */
+    private int getLongestTour() {
+        int longest = 0;
+        for (int position = 1; position < size; position++) {
+            if (tourLengths[position] > tourLengths[longest])
+                longest = position;
+        }
+        return longest;
+    }
+
+    /**
+     * Gets the ant with the shortest tour of the iteration.
+     *
+     * @return The iteration best ant.
+     */
+    private Ant getIterationBestAnt() {
+        Ant iterationBestAnt = null;
+        for (Ant ant : aco.getAnts()) {
+            if (iterationBestAnt == null || ant.getTourLength() < iterationBestAnt.getTourLength())
+                iterationBestAnt = ant;
+        }
+        return iterationBestAnt;
+    }
+}
@@ -0,0 +1,127 @@
+package AntColonyOptimization.DepositRules;
+
+import AntColonyOptimization.Ant.Ant;
+import AntColonyOptimization.AntColonyOptimization;
+
+/**
+ * Deposit Rule for the rank-based ant system.
+ * The w - 1 best ants of the iteration deposit weighted by their rank, the ant of rank r with the weight w - r, and
+ * the best-so-far ant with the weight w. The best ants are taken with a partial selection, so the deposit costs
+ * w times the length of a tour.
+ */
+public class DepositRankBased extends DepositRule {
+    /**
+     * The number of depositing ants w, including the best-so-far ant.
+     */
+    private final int numOfRankedAnts;
+    /**
+     * The best ants of the iteration, as max heap on the tour length during the selection.
+     */
+    private final Ant[] rankedAnts;
+
+    /**
+     * Constructor.
+     * The six best ants do deposit pheromones.
+     *
+     * @param aco The ant colony optimization algorithm.
+     */
+    public DepositRankBased(AntColonyOptimization aco) {
+        this(aco, 6);
+    }
+
+    /**
+     * Constructor.
+     * The best ants do deposit pheromones.
+     *
+     * @param aco             The ant colony optimization algorithm.
+     * @param numOfRankedAnts The number of depositing ants w, including the best-so-far ant.
+     */
+    public DepositRankBased(AntColonyOptimization aco, int numOfRankedAnts) {
+        super(aco, 1);
+        if (numOfRankedAnts < 1)
+            throw new IllegalArgumentException("The number of ranked ants has to be greater than 0.");
+        this.numOfRankedAnts = numOfRankedAnts;
+        this.rankedAnts = new Ant[numOfRankedAnts - 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only the best ants, weighted by their rank.
+     */
+    @Override
+    public void deposit() {
+        int size = selectBestAnts();
+
+        // the heap holds the longest tour at the top, so the ants are taken from the lowest rank upwards
+        while (size > 0) {
+            Ant ant = rankedAnts[0];
+            int rank = size;
+            rankedAnts[0] = rankedAnts[--size];
+            siftDown(0, size);
+            depositOnTour(ant, (numOfRankedAnts - rank) * AntColonyOptimization.Q / ant.getTourLength());
+        }
+
+        Ant bestAnt = aco.getBestAnt();
+        depositOnTour(bestAnt, numOfRankedAnts * AntColonyOptimization.Q / bestAnt.getTourLength());
+    }
+
+    /**
+     * Selects the w - 1 best ants of the iteration into a max heap on the tour length.
+     *
+     * @return The number of selected ants.
+     */
+    private int selectBestAnts() {
+        int size = 0;
+        for (Ant ant : aco.getAnts()) {
+            if (size < rankedAnts.length) {
+                // sift up the new ant
+                int position = size++;
+                while (position > 0 && isLonger(ant, rankedAnts[(position - 1) / 2])) {
+                    rankedAnts[position] = rankedAnts[(position - 1) / 2];
+                    position = (position - 1) / 2;
+                }
+                rankedAnts[position] = ant;
+            } else if (size > 0 && isLonger(rankedAnts[0], ant)) {
+                // replace the longest selected tour
+                rankedAnts[0] = ant;
+                siftDown(0, size);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Moves an ant down the heap until both children have shorter tours.
+     *
+     * @param position The position of the ant.
+     * @param size     The size of the heap.
+     */
+    private void siftDown(int position, int size) {
+        Ant ant = rankedAnts[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && isLonger(rankedAnts[child + 1], rankedAnts[child]))
+                child++;
+            if (!isLonger(rankedAnts[child], ant))
+                break;
+            rankedAnts[position] = rankedAnts[child];
+            position = child;
+        }
+        rankedAnts[position] = ant;
+    }
+
+    /**
+     * Describes whether the first ant ranks behind the second one, on equal lengths the ant with the larger id.
+     *
+     * @param first  The first ant.
+     * @param second The second ant.
+     * @return <CODE>true</CODE> if the first ant ranks behind, <CODE>false</CODE> otherwise
+     */
+    private static boolean isLonger(Ant first, Ant second) {
+        if (first.getTourLength() != second.getTourLength())
+            return first.getTourLength() > second.getTourLength();
+        return first.getId() > second.getId();
+    }
+}
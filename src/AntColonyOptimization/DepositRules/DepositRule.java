@@ -1,5 +1,6 @@
 package AntColonyOptimization.DepositRules;
 
+import AntColonyOptimization.Ant.Ant;
 import AntColonyOptimization.AntColonyOptimization;
 
 /**
@@ -27,22 +28,94 @@ public abstract class DepositRule {
     }
 
     /**
-     * Gets the new tau value of vertex i, j.
+     * Deposits the pheromones of the depositing ants, after the evaporation.
+     */
+    public abstract void deposit();
+
+    /**
+     * Deposits the pheromones of a tour found outside of the colony, e.g. a migrant of another colony.
+     * By default the tour deposits like a depositing ant with the weighted delta tau value Q / L.
      *
-     * @param i The current vertex.
-     * @param j The next vertex.
-     * @return The new tau value.
+     * @param tour       The tour.
+     * @param tourLength The length of the tour.
+     * @param weight     The weight of the deposit.
+     */
+    public void depositMigrant(int[] tour, int tourLength, double weight) {
+        depositOnTour(tour, tour.length, weight * AntColonyOptimization.Q / tourLength);
+    }
+
+    /**
+     * Resets the counters of the deposit, at the start of a run and after the pheromones were reinitialized.
+     * By default the deposit keeps no counters.
      */
-    public double getNewTau(int i, int j) {
-        return aco.getTau(i, j) + rho * getDeltaTau(i, j);
+    public void reset() {
     }
 
     /**
-     * Returns the computed delta tau value.
+     * Describes whether the deposit changes the pheromones of all edges, not only of the deposited tours.
+     * Then the cached products of all edges are refreshed after the deposit.
      *
-     * @param i The current vertex.
-     * @param j The next vertex.
-     * @return The delta tau value.
+     * @return <CODE>true</CODE> if all edges can change, <CODE>false</CODE> otherwise
      */
-    protected abstract double getDeltaTau(int i, int j);
-}
\ No newline at end of file
+    public boolean changesAllEdges() {
+        return false;
+    }
+
+    /**
+     * Deposits the partial delta tau value on every edge the ant traveled.
+     * The cost depends on the length of the tour, not on the number of vertices of the graph.
+     *
+     * @param ant      The depositing ant.
+     * @param deltaTau The delta tau value.
+     */
+    protected void depositOnTour(Ant ant, double deltaTau) {
+        for (int k = 0; k < ant.getTourSize() - 1; k++) {
+            // a route with a single vertex travels its edge twice, the edge is only deposited once
+            if (k > 0 && ant.getTourVertex(k - 1) == ant.getTourVertex(k + 1))
+                continue;
+            depositOnEdge(ant.getTourVertex(k), ant.getTourVertex(k + 1), deltaTau);
+        }
+    }
+
+    /**
+     * Deposits the partial delta tau value on every edge of a tour.
+     *
+     * @param tour     The tour.
+     * @param tourSize The number of vertices in the tour.
+     * @param deltaTau The delta tau value, negative to remove a deposit.
+     */
+    protected void depositOnTour(int[] tour, int tourSize, double deltaTau) {
+        for (int k = 0; k < tourSize - 1; k++) {
+            // a route with a single vertex travels its edge twice, the edge is only deposited once
+            if (k > 0 && tour[k - 1] == tour[k + 1])
+                continue;
+            depositOnEdge(tour[k], tour[k + 1], deltaTau);
+        }
+    }
+
+    /**
+     * Deposits the partial delta tau value on the edge(i,j) in both directions.
+     * The edge is looked up once, then read and written at its storage position.
+     * Ignored for an edge which is not stored by a sparse graph.
+     *
+     * @param i        The first vertex.
+     * @param j        The second vertex.
+     * @param deltaTau The delta tau value.
+     */
+    private void depositOnEdge(int i, int j, double deltaTau) {
+        int position = aco.getPosition(i, j);
+        if (position < 0)
+            return;
+        aco.setTauAt(position, aco.getTauAt(position) + rho * deltaTau);
+
+        // refresh the cached products of the edge
+        aco.updateChoiceInfoAt(position);
+
+        // set symmetric tau, unless both directions share the position
+        int reversePosition = aco.getPosition(j, i);
+        if (reversePosition != position) {
+            aco.setTauAt(reversePosition, aco.getTauAt(position));
+            aco.updateChoiceInfoAt(reversePosition);
+        }
+    }
+}
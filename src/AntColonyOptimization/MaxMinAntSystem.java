@@ -0,0 +1,177 @@
+package AntColonyOptimization;
+
+import AntColonyOptimization.Ant.ExplorationRules.RandomExploration;
+import AntColonyOptimization.Ant.SelectionRules.RouletteWheelSelection;
+import AntColonyOptimization.DepositRules.DepositMMAS;
+import Graph.Graph;
+import Utilities.ProblemInstance;
+
+/**
+ * MAX-MIN Ant System algorithm to solve VRPs.
+ * Only the iteration best or the best-so-far ant deposits pheromones, the pheromones are limited to
+ * [tau_min, tau_max] derived from the length of the best tour and reinitialized to tau_max when the search stagnates.
+ */
+public class MaxMinAntSystem extends AntColonyOptimization {
+    /**
+     * Probability that the best tour is constructed again once the pheromones converged, it sets tau_min.
+     */
+    private double pBest = 0.05;
+    /**
+     * Every this many iterations the best-so-far ant deposits instead of the iteration best ant.
+     */
+    private int bestSoFarInterval = 5;
+    /**
+     * The pheromones are reinitialized when the average branching factor falls to this value. Zero means never.
+     */
+    private double reinitializationBranchingFactor = 2.5;
+    /**
+     * The number of iterations between two measurements of the stagnation.
+     */
+    private int stagnationCheckInterval = 50;
+
+    /**
+     * Constructor.
+     * Construct the graph and the ants and put the ants at their starting place.
+     *
+     * @param problem The problem to solve.
+     */
+    public MaxMinAntSystem(ProblemInstance problem) {
+        super(problem);
+        setAntExplorationRule(new RandomExploration(new RouletteWheelSelection()));
+        setDepositRule(new DepositMMAS(this));
+    }
+
+    /**
+     * Constructor.
+     * Construct the ants on the given graph and put the ants at their starting place.
+     *
+     * @param problem The problem to solve.
+     * @param graph   The graph of the problem, e.g. with another matrix layout.
+     */
+    public MaxMinAntSystem(ProblemInstance problem, Graph graph) {
+        super(problem, graph);
+        setAntExplorationRule(new RandomExploration(new RouletteWheelSelection()));
+        setDepositRule(new DepositMMAS(this));
+    }
+
+    /**
+     * Computes the initial tau value from the length of a good tour.
+     * The MAX-MIN Ant System starts with tau_max of the tour, 1 / (rho * L).
+     *
+     * @param tourLength The length of the tour.
+     * @return The initial tau value.
+     */
+    @Override
+    protected double computeInitialTau(int tourLength) {
+        return 1.0 / (getRho() * tourLength);
+    }
+
+    /**
+     * Gets the upper limit of the pheromones, derived from the length of the best tour.
+     *
+     * @return The value of tau_max.
+     */
+    public double getMaxTau() {
+        return computeInitialTau(getBestTourLength());
+    }
+
+    /**
+     * Gets the lower limit of the pheromones, derived from tau_max and pBest.
+     * With a probability of pBest the best tour is constructed again, if all edges of the best tour have tau_max and
+     * all other edges tau_min and an ant chooses among n / 2 vertices on average, but at least among two.
+     *
+     * @return The value of tau_min.
+     */
+    public double getMinTau() {
+        int numOfVertices = getNumOfVertices();
+        double pDecision = Math.pow(pBest, 1.0 / numOfVertices);
+        double averageChoices = numOfVertices / 2.0;
+        // small instances would divide by zero or a negative number
+        double minTau = getMaxTau() * (1 - pDecision) / (Math.max(averageChoices - 1, 1) * pDecision);
+        return Math.min(minTau, getMaxTau());
+    }
+
+    /**
+     * Gets the value of pBest.
+     *
+     * @return The value of pBest.
+     */
+    public double getPBest() {
+        return pBest;
+    }
+
+    /**
+     * Sets the value of pBest, the probability to construct the best tour again once the pheromones converged.
+     * A smaller value gives a larger tau_min and more exploration.
+     *
+     * @param pBest The new value of pBest.
+     */
+    public void setPBest(double pBest) {
+        if (pBest <= 0 || pBest >= 1)
+            throw new IllegalArgumentException("The value of pBest has to be between 0 and 1.");
+        this.pBest = pBest;
+    }
+
+    /**
+     * Gets the interval in which the best-so-far ant deposits instead of the iteration best ant.
+     *
+     * @return The interval in iterations.
+     */
+    public int getBestSoFarInterval() {
+        return bestSoFarInterval;
+    }
+
+    /**
+     * Sets the interval in which the best-so-far ant deposits instead of the iteration best ant.
+     * One means that always the best-so-far ant deposits.
+     *
+     * @param bestSoFarInterval The interval in iterations.
+     */
+    public void setBestSoFarInterval(int bestSoFarInterval) {
+        if (bestSoFarInterval < 1)
+            throw new IllegalArgumentException("The interval has to be greater than 0.");
+        this.bestSoFarInterval = bestSoFarInterval;
+    }
+
+    /**
+     * Gets the average branching factor at which the pheromones are reinitialized.
+     *
+     * @return The branching factor or zero if the pheromones are never reinitialized.
+     */
+    public double getReinitializationBranchingFactor() {
+        return reinitializationBranchingFactor;
+    }
+
+    /**
+     * Sets the average branching factor at which the pheromones are reinitialized to tau_max.
+     * A converged search has a branching factor slightly above two, the depot adds two edges per route.
+     *
+     * @param reinitializationBranchingFactor The branching factor or zero to never reinitialize the pheromones.
+     */
+    public void setReinitializationBranchingFactor(double reinitializationBranchingFactor) {
+        if (reinitializationBranchingFactor < 0)
+            throw new IllegalArgumentException("The branching factor cannot be negative.");
+        this.reinitializationBranchingFactor = reinitializationBranchingFactor;
+    }
+
+    /**
+     * Gets the number of iterations between two measurements of the stagnation.
+     *
+     * @return The number of iterations.
+     */
+    public int getStagnationCheckInterval() {
+        return stagnationCheckInterval;
+    }
+
+    /**
+     * Sets the number of iterations between two measurements of the stagnation.
+     * A measurement visits all edges.
+     *
+     * @param stagnationCheckInterval The number of iterations.
+     */
+    public void setStagnationCheckInterval(int stagnationCheckInterval) {
+        if (stagnationCheckInterval < 1)
+            throw new IllegalArgumentException("The interval has to be greater than 0.");
+        this.stagnationCheckInterval = stagnationCheckInterval;
+    }
+}
@@ -0,0 +1,30 @@
+package AntColonyOptimization;
+
+/**
+ * Topology of the migration between the colonies of a multi-colony optimization.
+ */
+public enum MigrationTopology {
+    /**
+     * Every colony receives the best tour of the previous colony in a ring.
+     */
+    RING,
+    /**
+     * Every colony receives the best tour of all colonies.
+     */
+    FULLY_CONNECTED;
+
+    /**
+     * Gets the colony whose best tour migrates to a colony.
+     *
+     * @param colony        The receiving colony.
+     * @param numOfColonies The number of colonies.
+     * @param bestColony    The colony with the best tour of all colonies.
+     * @return The sending colony.
+     */
+    public int source(int colony, int numOfColonies, int bestColony) {
+        return switch (this) {
+            case RING -> (colony + numOfColonies - 1) % numOfColonies;
+            case FULLY_CONNECTED -> bestColony;
+        };
+    }
+}
@@ -0,0 +1,328 @@
+package AntColonyOptimization;
+
+import Solution.Solution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Island model of independent colonies to solve CVRPs.
+ * Every colony has its own graph with its own pheromones and runs on its own thread. After every migration interval
+ * the colonies wait for each other and the best tours migrate along the topology: a colony takes a migrant as its best
+ * tour if it is shorter and optionally deposits pheromones on it. The migrants are taken before any colony changes,
+ * so the result does not depend on the scheduling.
+ */
+public class MultiColonyOptimization {
+    /**
+     * The colonies.
+     */
+    private final AntColonyOptimization[] colonies;
+    /**
+     * Number of iterations of every colony.
+     */
+    private int numberOfIterations = 1000;
+    /**
+     * Number of iterations between two migrations.
+     */
+    private int migrationInterval = 50;
+    /**
+     * The topology of the migration.
+     */
+    private MigrationTopology migrationTopology = MigrationTopology.RING;
+    /**
+     * The weight of the pheromones deposited on a migrant tour, relative to Q / L. Zero means no deposit.
+     */
+    private double migrantWeight = 0;
+    /**
+     * Number of threads to run the colonies. By default every colony has its own thread.
+     */
+    private int numberOfThreads;
+
+    /**
+     * Constructor.
+     * The colonies need their own graphs, they are configured independently, e.g. with different seeds or variants.
+     *
+     * @param colonies The colonies.
+     */
+    public MultiColonyOptimization(AntColonyOptimization... colonies) {
+        if (colonies.length < 1)
+            throw new IllegalArgumentException("There has to be at least one colony.");
+        for (int i = 0; i < colonies.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (colonies[i] == colonies[j] || colonies[i].getGraph() == colonies[j].getGraph())
+                    throw new IllegalArgumentException("Every colony needs its own graph.");
+            }
+        }
+        this.colonies = colonies.clone();
+        this.numberOfThreads = colonies.length;
+    }
+
+    /**
+     * Solve the Problem.
+     * Every colony runs the number of iterations, the migrations happen between the epochs of the migration interval.
+     * A colony continues its run in every epoch, so its pheromones and stop criteria carry over the migrations.
+     */
+    public void solve() {
+        solve(numberOfIterations, Long.MAX_VALUE);
+    }
+
+    /**
+     * Solve the Problem within a time budget.
+     * Runs epochs of the migration interval until the time budget is used up, the number of iterations is not
+     * considered. The colonies check the budget after every iteration. The best tour can be read at any time.
+     *
+     * @param timeBudgetInMillis The time budget in milliseconds.
+     */
+    public void solve(long timeBudgetInMillis) {
+        if (timeBudgetInMillis <= 0)
+            throw new IllegalArgumentException("The time budget has to be greater than 0");
+        solve(Integer.MAX_VALUE, timeBudgetInMillis * 1_000_000);
+    }
+
+    /**
+     * Runs the epochs until the number of iterations or the time budget is reached.
+     *
+     * @param maxIterations     The maximal number of iterations of every colony.
+     * @param timeBudgetInNanos The time budget in nanoseconds.
+     */
+    private void solve(int maxIterations, long timeBudgetInNanos) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        boolean[] stopped = new boolean[colonies.length];
+        try {
+            for (AntColonyOptimization colony : colonies)
+                colony.startNewRun();
+            int iterations = 0;
+            while (iterations < maxIterations) {
+                int epoch = Math.min(migrationInterval, maxIterations - iterations);
+                if (!runEpoch(executor, epoch, stopped, start, timeBudgetInNanos))
+                    break;
+                iterations += epoch;
+                if (System.nanoTime() - start >= timeBudgetInNanos)
+                    break;
+                migrate();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs an epoch of the colonies which did not meet a stop criterion on the worker pool.
+     * Returns after all colonies have finished the epoch.
+     *
+     * @param executor          The worker pool.
+     * @param iterations        The number of iterations of the epoch.
+     * @param stopped           Describes for every colony whether it met a stop criterion, updated by the epoch.
+     * @param start             The start of the time budget, as {@link System#nanoTime()}.
+     * @param timeBudgetInNanos The time budget in nanoseconds.
+     * @return <CODE>true</CODE> if a colony can continue, <CODE>false</CODE> if all colonies met a stop criterion
+     */
+    private boolean runEpoch(ExecutorService executor, int iterations, boolean[] stopped, long start,
+                             long timeBudgetInNanos) {
+        List<Callable<Boolean>> tasks = new ArrayList<>(colonies.length);
+        List<Integer> running = new ArrayList<>(colonies.length);
+        for (int i = 0; i < colonies.length; i++) {
+            if (stopped[i])
+                continue;
+            AntColonyOptimization colony = colonies[i];
+            tasks.add(() -> colony.runIterations(iterations, start, timeBudgetInNanos));
+            running.add(i);
+        }
+        try {
+            // invokeAll blocks until every colony is done and therefore acts as the barrier
+            List<Future<Boolean>> futures = executor.invokeAll(tasks);
+            for (int k = 0; k < futures.size(); k++)
+                stopped[running.get(k)] = futures.get(k).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The colonies were interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A colony failed to solve its epoch.", e.getCause());
+        }
+        for (boolean colonyStopped : stopped) {
+            if (!colonyStopped)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Migrates the best tours along the topology.
+     */
+    private void migrate() {
+        // take all migrants before a colony changes
+        int[][] migrants = new int[colonies.length][];
+        int[] migrantLengths = new int[colonies.length];
+        for (int i = 0; i < colonies.length; i++) {
+            migrants[i] = colonies[i].getBestTour();
+            migrantLengths[i] = colonies[i].getBestTourLength();
+        }
+        int bestColony = getBestColony();
+
+        for (int i = 0; i < colonies.length; i++) {
+            int source = migrationTopology.source(i, colonies.length, bestColony);
+            if (source == i)
+                continue;
+            if (migrantLengths[source] < colonies[i].getBestTourLength())
+                colonies[i].setInitialSolution(migrants[source]);
+            if (migrantWeight > 0)
+                colonies[i].depositMigrant(migrants[source], migrantLengths[source], migrantWeight);
+        }
+    }
+
+    /**
+     * Gets the colony with the best tour, on equal lengths the first one.
+     *
+     * @return The index of the best colony.
+     */
+    private int getBestColony() {
+        int bestColony = 0;
+        for (int i = 1; i < colonies.length; i++) {
+            if (colonies[i].getBestTourLength() < colonies[bestColony].getBestTourLength())
+                bestColony = i;
+        }
+        return bestColony;
+    }
+
+    /**
+     * Gets the best tour of all colonies.
+     *
+     * @return The best tour.
+     */
+    public int[] getBestTour() {
+        return colonies[getBestColony()].getBestTour();
+    }
+
+    /**
+     * Gets the best tour of all colonies as a solution with routes.
+     *
+     * @return The best solution.
+     */
+    public Solution getBestSolution() {
+        return colonies[getBestColony()].getBestSolution();
+    }
+
+    /**
+     * Gets the length of the best tour of all colonies.
+     *
+     * @return The length of the best tour.
+     */
+    public int getBestTourLength() {
+        return colonies[getBestColony()].getBestTourLength();
+    }
+
+    /**
+     * Gets the colonies.
+     *
+     * @return The colonies.
+     */
+    public AntColonyOptimization[] getColonies() {
+        return colonies.clone();
+    }
+
+    /**
+     * Gets the number of iterations of every colony.
+     *
+     * @return The number of iterations.
+     */
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
+    /**
+     * Sets the number of iterations of every colony.
+     *
+     * @param numberOfIterations The new number of iterations.
+     */
+    public void setNumberOfIterations(int numberOfIterations) {
+        if (numberOfIterations < 1)
+            throw new IllegalArgumentException("The number of iterations has to be greater than 0");
+        this.numberOfIterations = numberOfIterations;
+    }
+
+    /**
+     * Gets the number of iterations between two migrations.
+     *
+     * @return The migration interval.
+     */
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    /**
+     * Sets the number of iterations between two migrations.
+     *
+     * @param migrationInterval The new migration interval.
+     */
+    public void setMigrationInterval(int migrationInterval) {
+        if (migrationInterval < 1)
+            throw new IllegalArgumentException("The migration interval has to be greater than 0");
+        this.migrationInterval = migrationInterval;
+    }
+
+    /**
+     * Gets the topology of the migration.
+     *
+     * @return The migration topology.
+     */
+    public MigrationTopology getMigrationTopology() {
+        return migrationTopology;
+    }
+
+    /**
+     * Sets the topology of the migration.
+     *
+     * @param migrationTopology The new migration topology.
+     */
+    public void setMigrationTopology(MigrationTopology migrationTopology) {
+        if (migrationTopology == null)
+            throw new IllegalArgumentException("The migration topology cannot be null");
+        this.migrationTopology = migrationTopology;
+    }
+
+    /**
+     * Gets the weight of the pheromones deposited on a migrant tour.
+     *
+     * @return The weight relative to Q / L or zero if the migrants do not deposit.
+     */
+    public double getMigrantWeight() {
+        return migrantWeight;
+    }
+
+    /**
+     * Sets the weight of the pheromones deposited on a migrant tour, which blends the pheromones of the colonies.
+     *
+     * @param migrantWeight The weight relative to Q / L or zero if the migrants do not deposit.
+     */
+    public void setMigrantWeight(double migrantWeight) {
+        if (migrantWeight < 0)
+            throw new IllegalArgumentException("The migrant weight cannot be negative");
+        this.migrantWeight = migrantWeight;
+    }
+
+    /**
+     * Gets the number of threads to run the colonies.
+     *
+     * @return The number of threads.
+     */
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    /**
+     * Sets the number of threads to run the colonies.
+     *
+     * @param numberOfThreads The new number of threads.
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        if (numberOfThreads < 1)
+            throw new IllegalArgumentException("The number of threads has to be greater than 0");
+        this.numberOfThreads = numberOfThreads;
+    }
+}
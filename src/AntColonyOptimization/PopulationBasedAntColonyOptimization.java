@@ -0,0 +1,155 @@
+package AntColonyOptimization;
+
+import AntColonyOptimization.Ant.ExplorationRules.RandomExploration;
+import AntColonyOptimization.Ant.SelectionRules.RouletteWheelSelection;
+import AntColonyOptimization.DepositRules.DepositPACO;
+import Graph.Graph;
+import Utilities.ProblemInstance;
+
+/**
+ * Population-based Ant Colony Optimization algorithm to solve VRPs.
+ * The pheromones are derived from a small population of tours instead of evaporation: the iteration best tour enters
+ * the population and the oldest tour leaves it, so only the edges of these two tours change in an iteration.
+ * The value of rho is not used.
+ */
+public class PopulationBasedAntColonyOptimization extends AntColonyOptimization {
+    /**
+     * The deposit rule, which keeps the population.
+     */
+    private final DepositPACO depositPACO;
+    /**
+     * The number of tours in the population.
+     */
+    private int populationSize = 5;
+    /**
+     * The pheromone value of an edge used by every tour of the population.
+     */
+    private double maxTau = 1.0;
+    /**
+     * Describes whether the longest tour leaves the full population instead of the oldest tour.
+     */
+    private boolean qualityRanked = false;
+
+    /**
+     * Constructor.
+     * Construct the graph and the ants and put the ants at their starting place.
+     * The initial tau value is 1 / (n - 1) if not set.
+     *
+     * @param problem The problem to solve.
+     */
+    public PopulationBasedAntColonyOptimization(ProblemInstance problem) {
+        super(problem);
+        setAntExplorationRule(new RandomExploration(new RouletteWheelSelection()));
+        this.depositPACO = new DepositPACO(this);
+        setDepositRule(depositPACO);
+        setInitialTau(1.0 / (getNumOfVertices() - 1));
+    }
+
+    /**
+     * Constructor.
+     * Construct the ants on the given graph and put the ants at their starting place.
+     * The initial tau value is 1 / (n - 1) if not set.
+     *
+     * @param problem The problem to solve.
+     * @param graph   The graph of the problem, e.g. with another matrix layout.
+     */
+    public PopulationBasedAntColonyOptimization(ProblemInstance problem, Graph graph) {
+        super(problem, graph);
+        setAntExplorationRule(new RandomExploration(new RouletteWheelSelection()));
+        this.depositPACO = new DepositPACO(this);
+        setDepositRule(depositPACO);
+        setInitialTau(1.0 / (getNumOfVertices() - 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The pheromones do not evaporate, a tour removes its deposit when it leaves the population.
+     */
+    @Override
+    protected boolean evaporate() {
+        return false;
+    }
+
+    /**
+     * Sets the initial tau value of the graph and empties the population.
+     *
+     * @param initialTau The new initial tau value.
+     */
+    @Override
+    public void setInitialTau(double initialTau) {
+        super.setInitialTau(initialTau);
+        depositPACO.clear();
+    }
+
+    /**
+     * Gets the delta tau value a tour of the population deposits on its edges.
+     *
+     * @return The delta tau value, (tau_max - tau_0) / k.
+     */
+    public double getDeltaTau() {
+        return Math.max(0, (maxTau - getInitialTau()) / populationSize);
+    }
+
+    /**
+     * Gets the number of tours in the population.
+     *
+     * @return The size of the population.
+     */
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    /**
+     * Sets the number of tours in the population.
+     * Resets the pheromones and empties the population.
+     *
+     * @param populationSize The size of the population.
+     */
+    public void setPopulationSize(int populationSize) {
+        if (populationSize < 1)
+            throw new IllegalArgumentException("The size of the population has to be greater than 0.");
+        this.populationSize = populationSize;
+        setInitialTau(getInitialTau());
+    }
+
+    /**
+     * Gets the pheromone value of an edge used by every tour of the population.
+     *
+     * @return The value of tau_max.
+     */
+    public double getMaxTau() {
+        return maxTau;
+    }
+
+    /**
+     * Sets the pheromone value of an edge used by every tour of the population.
+     * Applies to the tours entering the population.
+     *
+     * @param maxTau The new value of tau_max.
+     */
+    public void setMaxTau(double maxTau) {
+        if (maxTau <= 0)
+            throw new IllegalArgumentException("The value of tau_max has to be greater than 0.");
+        this.maxTau = maxTau;
+    }
+
+    /**
+     * Describes whether the longest tour leaves the full population instead of the oldest tour.
+     *
+     * @return <CODE>true</CODE> for a quality ranked population, <CODE>false</CODE> for a first in first out one
+     */
+    public boolean isQualityRanked() {
+        return qualityRanked;
+    }
+
+    /**
+     * Sets whether the longest tour leaves the full population instead of the oldest tour.
+     * A quality ranked population only takes a tour which is shorter than its longest tour.
+     *
+     * @param qualityRanked <CODE>true</CODE> for a quality ranked population, <CODE>false</CODE> for a first in
+     *                      first out one
+     */
+    public void setQualityRanked(boolean qualityRanked) {
+        this.qualityRanked = qualityRanked;
+    }
+}
@@ -0,0 +1,56 @@
+package Graph;
+
+import java.util.Arrays;
+
+/**
+ * Matrix with double precision entries.
+ */
+public class DoubleMatrix extends Matrix {
+    /**
+     * The stored entries.
+     */
+    private final double[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param index The index of the matrix.
+     */
+    public DoubleMatrix(MatrixIndex index) {
+        super(index);
+        this.values = new double[index.length()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAt(int position) {
+        return values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setAt(int position, double value) {
+        values[position] = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fill(double value) {
+        Arrays.fill(values, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multiply(double factor) {
+        for (int k = 0; k < values.length; k++)
+            values[k] *= factor;
+    }
+}
@@ -0,0 +1,63 @@
+package Graph;
+
+/**
+ * Stores all entries of a matrix in one row-major array.
+ */
+public class FlatIndex extends MatrixIndex {
+    /**
+     * Constructor.
+     *
+     * @param size Number of rows and columns of the matrix.
+     */
+    public FlatIndex(int size) {
+        super(size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int index(int i, int j) {
+        return i * size + j;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int numOfColumns(int i) {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int column(int i, int k) {
+        return k;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int position(int i, int k) {
+        return i * size + k;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return size * size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSymmetric() {
+        return false;
+    }
+}
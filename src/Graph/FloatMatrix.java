@@ -0,0 +1,57 @@
+package Graph;
+
+import java.util.Arrays;
+
+/**
+ * Matrix with single precision entries, half the memory of a double matrix.
+ */
+public class FloatMatrix extends Matrix {
+    /**
+     * The stored entries.
+     */
+    private final float[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param index The index of the matrix.
+     */
+    public FloatMatrix(MatrixIndex index) {
+        super(index);
+        this.values = new float[index.length()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAt(int position) {
+        return values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setAt(int position, double value) {
+        values[position] = (float) value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fill(double value) {
+        Arrays.fill(values, (float) value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multiply(double factor) {
+        float f = (float) factor;
+        for (int k = 0; k < values.length; k++)
+            values[k] *= f;
+    }
+}
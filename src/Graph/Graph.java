@@ -1,5 +1,8 @@
 package Graph;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 /**
  * Graph represents the environment.
  */
@@ -13,13 +16,17 @@ public class Graph {
      */
     private final int[] demands;
     /**
-     * Distance matrix of the graph.
+     * Index of the distance and the pheromone matrix.
+     */
+    private final MatrixIndex index;
+    /**
+     * Distance matrix of the graph, the distances are whole numbers.
      */
-    private final double[][] distanceMatrix;
+    private final Matrix distanceMatrix;
     /**
      * Pheromone matrix of the graph.
      */
-    private final double[][] pheromoneMatrix;
+    private final Matrix pheromoneMatrix;
     /**
      * Number of vertices.
      */
@@ -28,34 +35,176 @@ public class Graph {
      * The initial tau value for the pheromone matrix.
      */
     private double initialTau = 0.1;
+    /**
+     * Smallest pheromone scale before the lazy evaporation is applied to all entries.
+     */
+    private static final double MIN_PHEROMONE_SCALE = 1e-20;
+    /**
+     * Describes whether the evaporation is applied lazily, when a tau value is read.
+     */
+    private boolean lazyEvaporation = false;
+    /**
+     * The evaporation accumulated since the pheromone matrix was last rescaled, one without lazy evaporation.
+     * A stored entry is its tau value divided by the scale at the time it was written, so reading it applies
+     * (1 - rho)^t for the t evaporations since then, like a timestamp per entry.
+     */
+    private double pheromoneScale = 1.0;
+    /**
+     * The tau value of the edges which are not stored by a sparse graph. It evaporates but gets no deposits.
+     */
+    private double unstoredTau = initialTau;
+    /**
+     * The number of nearest neighbors of each vertex whose edges are stored, all other vertices for a dense graph.
+     */
+    private final int numOfStoredNeighbors;
+    /**
+     * The k nearest neighbors of each vertex, ordered by distance. Null if not initialized.
+     */
+    private int[][] nearestNeighbors;
+    /**
+     * The storage position of the edge to each nearest neighbor. Null if not initialized.
+     */
+    private int[][] nearestNeighborPositions;
 
     /**
      * Constructor.
+     * Stores the matrices flat with double precision.
      *
      * @param vertices Vertices of the graph.
      * @param demands  Demands from the vertices.
      */
     public Graph(Vertex[] vertices, int[] demands) {
+        this(vertices, demands, MatrixLayout.FLAT, false);
+    }
+
+    /**
+     * Constructor.
+     * The symmetric layout and single precision pheromones reduce the memory of the graph, they do not speed it up.
+     *
+     * @param vertices                  Vertices of the graph.
+     * @param demands                   Demands from the vertices.
+     * @param layout                    Layout of the distance and the pheromone matrix.
+     * @param singlePrecisionPheromones If <CODE>true</CODE> the pheromones are stored as floats.
+     */
+    public Graph(Vertex[] vertices, int[] demands, MatrixLayout layout, boolean singlePrecisionPheromones) {
+        this(vertices, demands, layout.createIndex(vertices.length), null, singlePrecisionPheromones);
+    }
+
+    /**
+     * Constructor for a sparse graph.
+     * Only the distances and pheromones of the edges between the k nearest neighbors are stored, the other distances
+     * are computed from the vertices. The nearest neighbors are the candidate lists of the ants.
+     * The memory of the graph grows with n * k, the number of ants should be reduced accordingly, each ant needs
+     * memory linear in n. Without neighbors no edge is stored and all distances are computed.
+     *
+     * @param vertices                  Vertices of the graph.
+     * @param demands                   Demands from the vertices.
+     * @param numOfNeighbors            The number of nearest neighbors for each vertex.
+     * @param singlePrecisionPheromones If <CODE>true</CODE> the pheromones are stored as floats.
+     */
+    public Graph(Vertex[] vertices, int[] demands, int numOfNeighbors, boolean singlePrecisionPheromones) {
+        this(vertices, demands, computeNearestNeighbors(vertices, Math.min(numOfNeighbors, vertices.length - 1)),
+                singlePrecisionPheromones);
+    }
+
+    /**
+     * Constructor for a sparse graph with the given nearest neighbors.
+     *
+     * @param vertices                  Vertices of the graph.
+     * @param demands                   Demands from the vertices.
+     * @param nearestNeighbors          The nearest neighbors of each vertex, ordered by distance.
+     * @param singlePrecisionPheromones If <CODE>true</CODE> the pheromones are stored as floats.
+     */
+    private Graph(Vertex[] vertices, int[] demands, int[][] nearestNeighbors, boolean singlePrecisionPheromones) {
+        this(vertices, demands, new SparseIndex(nearestNeighbors), nearestNeighbors, singlePrecisionPheromones);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param vertices                  Vertices of the graph.
+     * @param demands                   Demands from the vertices.
+     * @param index                     Index of the distance and the pheromone matrix.
+     * @param nearestNeighbors          The nearest neighbors of each vertex, null if not initialized.
+     * @param singlePrecisionPheromones If <CODE>true</CODE> the pheromones are stored as floats.
+     */
+    private Graph(Vertex[] vertices, int[] demands, MatrixIndex index, int[][] nearestNeighbors,
+                  boolean singlePrecisionPheromones) {
         this.vertices = vertices;
         this.demands = demands;
         this.numOfVertices = vertices.length;
-        this.distanceMatrix = new double[numOfVertices][numOfVertices];
-        this.pheromoneMatrix = new double[numOfVertices][numOfVertices];
+        this.index = index;
+        this.numOfStoredNeighbors = nearestNeighbors == null || nearestNeighbors.length == 0 ? numOfVertices - 1 :
+                nearestNeighbors[0].length;
+        this.nearestNeighbors = nearestNeighbors;
+        this.nearestNeighborPositions = nearestNeighbors == null ? null : computePositions(index, nearestNeighbors);
+        this.distanceMatrix = createDistanceMatrix(vertices, index);
+        this.pheromoneMatrix = singlePrecisionPheromones ? new FloatMatrix(index) : new DoubleMatrix(index);
         initializePheromoneMatrix();
         initializeDistanceMatrix();
     }
 
+    /**
+     * Creates the distance matrix with the smallest whole number type that holds every distance.
+     *
+     * @param vertices Vertices of the graph.
+     * @param index    Index of the matrix.
+     * @return The distance matrix.
+     */
+    private static Matrix createDistanceMatrix(Vertex[] vertices, MatrixIndex index) {
+        int minX = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (Vertex vertex : vertices) {
+            minX = Math.min(minX, vertex.x());
+            maxX = Math.max(maxX, vertex.x());
+            minY = Math.min(minY, vertex.y());
+            maxY = Math.max(maxY, vertex.y());
+        }
+        // no distance exceeds the diagonal of the bounding box
+        Vertex diagonal = new Vertex(maxX - minX, maxY - minY);
+        return diagonal.costTo(new Vertex(0, 0)) <= Short.MAX_VALUE ? new ShortMatrix(index) : new IntMatrix(index);
+    }
+
     /**
      * Initialize the distance matrix, using euclidean distances.
      */
     private void initializeDistanceMatrix() {
-        double distance;
+        double[] xs = new double[numOfVertices];
+        double[] ys = new double[numOfVertices];
         for (int i = 0; i < numOfVertices; i++) {
-            for (int j = i + 1; j < numOfVertices; j++) {
-                distance = vertices[i].distanceTo(vertices[j]);
-                distanceMatrix[i][j] = distance;
-                distanceMatrix[j][i] = distance;
-            }
+            xs[i] = vertices[i].x();
+            ys[i] = vertices[i].y();
+        }
+        // the rows are independent, every stored entry is written by exactly one row
+        IntStream.range(0, numOfVertices).parallel().forEach(i -> initializeDistanceRow(i, xs, ys));
+    }
+
+    /**
+     * Initialize the stored distances of a row.
+     * The distances are the same as {@link Vertex#distanceTo(Vertex)}.
+     *
+     * @param i  The row.
+     * @param xs The x coordinates of the vertices.
+     * @param ys The y coordinates of the vertices.
+     */
+    private void initializeDistanceRow(int i, double[] xs, double[] ys) {
+        int numOfColumns = index.numOfColumns(i);
+        double[] row = new double[numOfColumns];
+        double x = xs[i];
+        double y = ys[i];
+        for (int k = 0; k < numOfColumns; k++) {
+            int j = index.column(i, k);
+            double dx = x - xs[j];
+            double dy = y - ys[j];
+            row[k] = Math.sqrt(dx * dx + dy * dy);
+        }
+        for (int k = 0; k < numOfColumns; k++) {
+            int j = index.column(i, k);
+            // a symmetric index lists an entry in the rows of both vertices, it is written by the later row
+            if (j != i && (!index.isSymmetric() || j < i))
+                distanceMatrix.setAt(index.position(i, k), Math.round(row[k]));
         }
     }
 
@@ -63,12 +212,123 @@ public class Graph {
      * Initialize pheromone matrix with the initial tau
      */
     private void initializePheromoneMatrix() {
-        for (int i = 0; i < numOfVertices; i++) {
-            for (int j = i + 1; j < numOfVertices; j++) {
-                pheromoneMatrix[i][j] = initialTau;
-                pheromoneMatrix[j][i] = initialTau;
-            }
+        pheromoneScale = 1.0;
+        unstoredTau = initialTau;
+        pheromoneMatrix.fill(initialTau);
+    }
+
+    /**
+     * Initializes the k nearest neighbors of each vertex, ordered by distance and on equal distances by index.
+     * A sparse graph only stores the edges to the nearest neighbors it was built with, so k is limited to their
+     * number and the edges to the nearest neighbors stay stored.
+     *
+     * @param k The number of neighbors for each vertex, at most the number of vertices - 1.
+     */
+    public void initializeNearestNeighbors(int k) {
+        nearestNeighbors = computeNearestNeighbors(vertices, Math.min(k, numOfStoredNeighbors));
+        nearestNeighborPositions = computePositions(index, nearestNeighbors);
+    }
+
+    /**
+     * Computes the k nearest neighbors of each vertex, ordered by distance and on equal distances by index.
+     * The neighbors are not stored as the nearest neighbors of the graph.
+     *
+     * @param k The number of neighbors for each vertex, limited to the number of vertices - 1.
+     * @return The nearest neighbors of each vertex.
+     */
+    public int[][] computeNearestNeighbors(int k) {
+        return computeNearestNeighbors(vertices, Math.min(k, numOfVertices - 1));
+    }
+
+    /**
+     * Computes the k nearest neighbors of each vertex, ordered by distance and on equal distances by index.
+     *
+     * @param vertices The vertices.
+     * @param k        The number of neighbors for each vertex, at most the number of vertices - 1.
+     * @return The nearest neighbors of each vertex.
+     */
+    private static int[][] computeNearestNeighbors(Vertex[] vertices, int k) {
+        KdTree tree = new KdTree(vertices);
+        int[][] nearestNeighbors = new int[vertices.length][];
+        for (int i = 0; i < vertices.length; i++)
+            nearestNeighbors[i] = tree.nearestNeighbors(i, k);
+        return nearestNeighbors;
+    }
+
+    /**
+     * Removes the nearest neighbors of each vertex.
+     */
+    public void clearNearestNeighbors() {
+        nearestNeighbors = null;
+        nearestNeighborPositions = null;
+    }
+
+    /**
+     * Computes the storage position of the edge from each vertex to each of its neighbors.
+     *
+     * @param index     Index of the matrices.
+     * @param neighbors The neighbors of each vertex.
+     * @return The positions of the edges, -1 for an edge which is not stored.
+     */
+    private static int[][] computePositions(MatrixIndex index, int[][] neighbors) {
+        int[][] positions = new int[neighbors.length][];
+        for (int i = 0; i < neighbors.length; i++) {
+            positions[i] = new int[neighbors[i].length];
+            for (int k = 0; k < neighbors[i].length; k++)
+                positions[i][k] = index.index(i, neighbors[i][k]);
         }
+        return positions;
+    }
+
+    /**
+     * Gets the number of nearest neighbors of each vertex whose edges are stored.
+     *
+     * @return The number of nearest neighbors of a sparse graph, the number of vertices - 1 otherwise.
+     */
+    public int getNumOfStoredNeighbors() {
+        return numOfStoredNeighbors;
+    }
+
+    /**
+     * Describes whether the nearest neighbors are initialized.
+     *
+     * @return <CODE>true</CODE> if the nearest neighbors are initialized, <CODE>false</CODE> otherwise
+     */
+    public boolean hasNearestNeighbors() {
+        return nearestNeighbors != null;
+    }
+
+    /**
+     * Gets the nearest neighbors of a vertex, ordered by distance.
+     *
+     * @param i The vertex.
+     * @return The nearest neighbors of vertex i.
+     */
+    public int[] getNearestNeighbors(int i) {
+        return nearestNeighbors[i];
+    }
+
+    /**
+     * Gets the storage positions of the edges from a vertex to its nearest neighbors, in the order of the neighbors.
+     * The nearest neighbors of a sparse graph are limited to the neighbors it stores, so every edge to a nearest
+     * neighbor has a position, see {@link #initializeNearestNeighbors(int)}.
+     *
+     * @param i The vertex.
+     * @return The positions of the edges to the nearest neighbors of vertex i.
+     */
+    public int[] getNearestNeighborPositions(int i) {
+        return nearestNeighborPositions[i];
+    }
+
+    /**
+     * Gets the storage position of the edge(i,j), for the accessors by position in the hot loops.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     * @return The position of the edge, -1 if the edge is not stored.
+     */
+    public int getPosition(int i, int j) {
+        return index.index(i, j);
     }
 
     /**
@@ -79,7 +339,59 @@ public class Graph {
      * @return Distance for the edge(i,j).
      */
     public double getDistance(int i, int j) {
-        return distanceMatrix[i][j];
+        return getCost(i, j);
+    }
+
+    /**
+     * Gets the distance for the edge(i,j) as a whole number.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     * @return Cost of the edge(i,j).
+     */
+    public int getCost(int i, int j) {
+        int position = index.index(i, j);
+        return position >= 0 ? distanceMatrix.getIntAt(position) : vertices[i].costTo(vertices[j]);
+    }
+
+    /**
+     * Gets the distance of a stored edge as a whole number.
+     *
+     * @param position The storage position of the edge.
+     * @return The distance of the edge.
+     */
+    public int getCostAt(int position) {
+        return distanceMatrix.getIntAt(position);
+    }
+
+    /**
+     * Gets the pheromone value of a stored edge.
+     *
+     * @param position The storage position of the edge.
+     * @return Pheromone value of the edge.
+     */
+    public double getTauAt(int position) {
+        return pheromoneMatrix.getAt(position) * pheromoneScale;
+    }
+
+    /**
+     * Gets the pheromone value of a stored edge without the pending lazy evaporation.
+     *
+     * @param position The storage position of the edge.
+     * @return Relative pheromone value of the edge.
+     */
+    public double getRelativeTauAt(int position) {
+        return pheromoneMatrix.getAt(position);
+    }
+
+    /**
+     * Sets the pheromone value of a stored edge.
+     *
+     * @param position The storage position of the edge.
+     * @param value    The new pheromone value of the edge.
+     */
+    public void setTauAt(int position, double value) {
+        pheromoneMatrix.setAt(position, value / pheromoneScale);
     }
 
     /**
@@ -90,18 +402,151 @@ public class Graph {
      * @return Pheromone value of the edge(i,j).
      */
     public double getTau(int i, int j) {
-        return pheromoneMatrix[i][j];
+        int position = index.index(i, j);
+        return position >= 0 ? pheromoneMatrix.getAt(position) * pheromoneScale : unstoredTau;
+    }
+
+    /**
+     * Gets the pheromone value of the edge(i,j) without the pending lazy evaporation.
+     * All edges share the pending evaporation, so the relative values can be compared and cached.
+     * Without lazy evaporation the relative value is the pheromone value.
+     *
+     * @param i The current vertex.
+     * @param j The next vertex.
+     * @return Relative pheromone value of the edge(i,j).
+     */
+    public double getRelativeTau(int i, int j) {
+        int position = index.index(i, j);
+        return position >= 0 ? pheromoneMatrix.getAt(position) : unstoredTau / pheromoneScale;
+    }
+
+    /**
+     * Computes the average lambda-branching factor of the pheromones, a measure of the stagnation of the search.
+     * The branching factor of a vertex is the number of its edges with a pheromone value of at least
+     * tau_min + lambda * (tau_max - tau_min) of its edges. It approaches two when the pheromones converged to a single
+     * tour. Only the stored entries are visited, the edges which are not stored by a sparse graph share one value and
+     * are counted once per vertex.
+     *
+     * @param lambda The share of the pheromone range, between 0 and 1.
+     * @return The average branching factor of the vertices.
+     */
+    public double computeBranchingFactor(double lambda) {
+        // the stored values are relative to the pheromone scale, which does not change the branches
+        double[] threshold = new double[numOfVertices];
+        double[] maxTau = new double[numOfVertices];
+        int[] numOfStoredEdges = new int[numOfVertices];
+        Arrays.fill(threshold, Double.MAX_VALUE);
+        boolean completeRows = index.hasCompleteRows();
+        for (int i = 0; i < numOfVertices; i++) {
+            for (int k = 0; k < index.numOfColumns(i); k++) {
+                int j = index.column(i, k);
+                if (j == i)
+                    continue;
+                double tau = pheromoneMatrix.getAt(index.position(i, k));
+                threshold[i] = Math.min(threshold[i], tau);
+                maxTau[i] = Math.max(maxTau[i], tau);
+                numOfStoredEdges[i]++;
+                if (!completeRows) {
+                    threshold[j] = Math.min(threshold[j], tau);
+                    maxTau[j] = Math.max(maxTau[j], tau);
+                    numOfStoredEdges[j]++;
+                }
+            }
+        }
+        double relativeUnstoredTau = unstoredTau / pheromoneScale;
+        for (int i = 0; i < numOfVertices; i++) {
+            if (numOfStoredEdges[i] < numOfVertices - 1) {
+                threshold[i] = Math.min(threshold[i], relativeUnstoredTau);
+                maxTau[i] = Math.max(maxTau[i], relativeUnstoredTau);
+            }
+            threshold[i] += lambda * (maxTau[i] - threshold[i]);
+        }
+
+        long numOfBranches = 0;
+        for (int i = 0; i < numOfVertices; i++) {
+            for (int k = 0; k < index.numOfColumns(i); k++) {
+                int j = index.column(i, k);
+                if (j == i)
+                    continue;
+                double tau = pheromoneMatrix.getAt(index.position(i, k));
+                if (tau >= threshold[i])
+                    numOfBranches++;
+                if (!completeRows && tau >= threshold[j])
+                    numOfBranches++;
+            }
+            if (relativeUnstoredTau >= threshold[i])
+                numOfBranches += numOfVertices - 1 - numOfStoredEdges[i];
+        }
+        return (double) numOfBranches / numOfVertices;
     }
 
     /**
      * Sets the pheromone value for the edge(i,j).
+     * Ignored for an edge which is not stored by a sparse graph.
      *
      * @param i     The current vertex.
      * @param j     The next vertex.
      * @param value The new pheromone value for the edge(i,j).
      */
     public void setTau(int i, int j, double value) {
-        this.pheromoneMatrix[i][j] = value;
+        int position = index.index(i, j);
+        if (position >= 0)
+            pheromoneMatrix.setAt(position, value / pheromoneScale);
+    }
+
+    /**
+     * Limits the pheromone values of all edges to the range [minTau, maxTau].
+     *
+     * @param minTau The lower limit of the pheromone values.
+     * @param maxTau The upper limit of the pheromone values.
+     */
+    public void clampTau(double minTau, double maxTau) {
+        pheromoneMatrix.clamp(minTau / pheromoneScale, maxTau / pheromoneScale);
+        unstoredTau = Math.max(minTau, Math.min(maxTau, unstoredTau));
+    }
+
+    /**
+     * Evaporates the pheromones of all edges.
+     * With lazy evaporation only the pending evaporation is updated, unless it gets too small to be represented.
+     *
+     * @param rho The evaporation rate, the pheromones are multiplied with 1 - rho.
+     * @return <CODE>true</CODE> if the stored values of all edges were changed, <CODE>false</CODE> otherwise
+     */
+    public boolean evaporate(double rho) {
+        unstoredTau *= 1 - rho;
+        if (!lazyEvaporation) {
+            pheromoneMatrix.multiply(1 - rho);
+            return true;
+        }
+        pheromoneScale *= 1 - rho;
+        if (pheromoneScale >= MIN_PHEROMONE_SCALE)
+            return false;
+
+        // apply the pending evaporation to all entries
+        pheromoneMatrix.multiply(pheromoneScale);
+        pheromoneScale = 1.0;
+        return true;
+    }
+
+    /**
+     * Describes whether the evaporation is applied lazily.
+     *
+     * @return <CODE>true</CODE> if the evaporation is lazy, <CODE>false</CODE> otherwise
+     */
+    public boolean isLazyEvaporation() {
+        return lazyEvaporation;
+    }
+
+    /**
+     * Sets whether the evaporation is applied lazily, when a tau value is read.
+     * Applies the pending evaporation to all entries.
+     *
+     * @param lazyEvaporation <CODE>true</CODE> for lazy evaporation, <CODE>false</CODE> otherwise
+     */
+    public void setLazyEvaporation(boolean lazyEvaporation) {
+        pheromoneMatrix.multiply(pheromoneScale);
+        pheromoneScale = 1.0;
+        this.lazyEvaporation = lazyEvaporation;
     }
 
     /**
@@ -113,6 +558,33 @@ public class Graph {
         return numOfVertices;
     }
 
+    /**
+     * Gets the index of the distance and the pheromone matrix.
+     *
+     * @return The index of the matrices.
+     */
+    public MatrixIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Describes whether the pheromones are stored as floats.
+     *
+     * @return <CODE>true</CODE> for single precision pheromones, <CODE>false</CODE> for double precision
+     */
+    public boolean hasSinglePrecisionPheromones() {
+        return pheromoneMatrix instanceof FloatMatrix;
+    }
+
+    /**
+     * Describes whether the graph is sparse and only stores the edges between nearest neighbors.
+     *
+     * @return <CODE>true</CODE> if the graph is sparse, <CODE>false</CODE> otherwise
+     */
+    public boolean isSparse() {
+        return index instanceof SparseIndex;
+    }
+
     /**
      * Gets the value of the initial tau.
      *
@@ -132,6 +604,24 @@ public class Graph {
         initializePheromoneMatrix();
     }
 
+    /**
+     * Gets the vertices of the graph.
+     *
+     * @return The vertices.
+     */
+    public Vertex[] getVertices() {
+        return vertices.clone();
+    }
+
+    /**
+     * Gets the demands of the vertices.
+     *
+     * @return The demands.
+     */
+    public int[] getDemands() {
+        return demands.clone();
+    }
+
     /**
      * Gets the demand of a vertex.
      *
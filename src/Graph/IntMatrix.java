@@ -0,0 +1,65 @@
+package Graph;
+
+import java.util.Arrays;
+
+/**
+ * Matrix with whole number entries, half the memory of a double matrix.
+ * Written values are rounded to the nearest whole number.
+ */
+public class IntMatrix extends Matrix {
+    /**
+     * The stored entries.
+     */
+    private final int[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param index The index of the matrix.
+     */
+    public IntMatrix(MatrixIndex index) {
+        super(index);
+        this.values = new int[index.length()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAt(int position) {
+        return values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getIntAt(int position) {
+        return values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setAt(int position, double value) {
+        values[position] = (int) Math.round(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fill(double value) {
+        Arrays.fill(values, (int) Math.round(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multiply(double factor) {
+        for (int k = 0; k < values.length; k++)
+            values[k] = (int) Math.round(values[k] * factor);
+    }
+}
@@ -0,0 +1,435 @@
+package Graph;
+
+import java.util.Arrays;
+
+/**
+ * A two-dimensional k-d tree over the vertices for nearest neighbor and radius queries.
+ * The tree is balanced and stored implicitly: the subtree over the positions lo...hi - 1 of the order array has its
+ * root at the middle position and splits on x at even and on y at odd depths.
+ * Vertices can be deleted, every subtree keeps its number of alive vertices and their minimal demand, so queries skip
+ * empty subtrees and subtrees without a vertex of a small enough demand.
+ * Distances are the rounded distances of {@link Vertex#distanceTo(Vertex)}, equal distances are ordered by index.
+ */
+public class KdTree {
+    /**
+     * The vertices.
+     */
+    private final Vertex[] vertices;
+    /**
+     * The demands of the vertices.
+     */
+    private final int[] demands;
+    /**
+     * The vertices in tree order.
+     */
+    private final int[] order;
+    /**
+     * The position of each vertex in the order array.
+     */
+    private final int[] positionOf;
+    /**
+     * Describes whether a vertex has been deleted.
+     */
+    private final boolean[] deleted;
+    /**
+     * The number of alive vertices of the subtree rooted at each position.
+     */
+    private final int[] aliveCount;
+    /**
+     * The minimal demand of the alive vertices of the subtree rooted at each position.
+     */
+    private final int[] minDemand;
+
+    /**
+     * Constructor.
+     * All vertices have a demand of 0.
+     *
+     * @param vertices The vertices.
+     */
+    public KdTree(Vertex[] vertices) {
+        this(vertices, new int[vertices.length]);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param vertices The vertices.
+     * @param demands  The demands of the vertices.
+     */
+    public KdTree(Vertex[] vertices, int[] demands) {
+        this.vertices = vertices;
+        this.demands = demands;
+        this.order = new int[vertices.length];
+        this.positionOf = new int[vertices.length];
+        this.deleted = new boolean[vertices.length];
+        this.aliveCount = new int[vertices.length];
+        this.minDemand = new int[vertices.length];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        build(0, order.length, 0);
+        for (int p = 0; p < order.length; p++)
+            positionOf[order[p]] = p;
+    }
+
+    /**
+     * Builds the subtree over the positions lo...hi - 1.
+     *
+     * @param lo    The first position.
+     * @param hi    The position after the last.
+     * @param depth The depth of the subtree.
+     */
+    private void build(int lo, int hi, int depth) {
+        if (lo >= hi)
+            return;
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, depth & 1);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+        aliveCount[mid] = hi - lo;
+        minDemand[mid] = demands[order[mid]];
+        if (lo < mid)
+            minDemand[mid] = Math.min(minDemand[mid], minDemand[(lo + mid) >>> 1]);
+        if (mid + 1 < hi)
+            minDemand[mid] = Math.min(minDemand[mid], minDemand[(mid + 1 + hi) >>> 1]);
+    }
+
+    /**
+     * Partially sorts the positions left...right so that position k holds its vertex of sorted order by the axis.
+     *
+     * @param left  The first position.
+     * @param right The last position.
+     * @param k     The position to select.
+     * @param axis  0 for x, 1 for y.
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (left < right) {
+            int pivot = order[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (compare(order[i], pivot, axis) < 0)
+                    i++;
+                while (compare(order[j], pivot, axis) > 0)
+                    j--;
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i++] = order[j];
+                    order[j--] = swap;
+                }
+            }
+            if (k <= j)
+                right = j;
+            else if (k >= i)
+                left = i;
+            else
+                return;
+        }
+    }
+
+    /**
+     * Compares two vertices by the coordinate of the axis and on equal coordinates by index.
+     *
+     * @param a    The first vertex.
+     * @param b    The second vertex.
+     * @param axis 0 for x, 1 for y.
+     * @return A negative number, zero or a positive number if a is less than, equal to or greater than b.
+     */
+    private int compare(int a, int b, int axis) {
+        int c = Integer.compare(coordinate(a, axis), coordinate(b, axis));
+        return c != 0 ? c : Integer.compare(a, b);
+    }
+
+    /**
+     * Gets the coordinate of a vertex.
+     *
+     * @param vertex The vertex.
+     * @param axis   0 for x, 1 for y.
+     * @return The coordinate.
+     */
+    private int coordinate(int vertex, int axis) {
+        return axis == 0 ? vertices[vertex].x() : vertices[vertex].y();
+    }
+
+    /**
+     * Deletes a vertex, it is no longer returned by any query.
+     *
+     * @param vertex The vertex to delete.
+     */
+    public void delete(int vertex) {
+        if (deleted[vertex])
+            return;
+        deleted[vertex] = true;
+        delete(0, order.length, positionOf[vertex]);
+    }
+
+    /**
+     * Updates the counts and minimal demands along the path to the deleted position.
+     *
+     * @param lo       The first position of the subtree.
+     * @param hi       The position after the last of the subtree.
+     * @param position The position of the deleted vertex.
+     */
+    private void delete(int lo, int hi, int position) {
+        int mid = (lo + hi) >>> 1;
+        if (position < mid)
+            delete(lo, mid, position);
+        else if (position > mid)
+            delete(mid + 1, hi, position);
+        aliveCount[mid]--;
+        minDemand[mid] = deleted[order[mid]] ? Integer.MAX_VALUE : demands[order[mid]];
+        if (lo < mid && aliveCount[(lo + mid) >>> 1] > 0)
+            minDemand[mid] = Math.min(minDemand[mid], minDemand[(lo + mid) >>> 1]);
+        if (mid + 1 < hi && aliveCount[(mid + 1 + hi) >>> 1] > 0)
+            minDemand[mid] = Math.min(minDemand[mid], minDemand[(mid + 1 + hi) >>> 1]);
+    }
+
+    /**
+     * Describes whether a vertex has been deleted.
+     *
+     * @param vertex The vertex.
+     * @return <CODE>true</CODE> if the vertex has been deleted, <CODE>false</CODE> otherwise
+     */
+    public boolean isDeleted(int vertex) {
+        return deleted[vertex];
+    }
+
+    /**
+     * Gets the number of alive vertices.
+     *
+     * @return The number of alive vertices.
+     */
+    public int size() {
+        return order.length == 0 ? 0 : aliveCount[order.length >>> 1];
+    }
+
+    /**
+     * Finds the nearest alive vertex to a vertex with a demand of at most maxDemand, the vertex itself excluded.
+     *
+     * @param vertex    The vertex.
+     * @param maxDemand The maximal demand.
+     * @return The nearest vertex or -1 if there is no such vertex.
+     */
+    public int nearestFeasible(int vertex, int maxDemand) {
+        // the key of the best vertex, the rounded distance in the upper and the index in the lower 32 bits
+        long[] best = {Long.MAX_VALUE};
+        nearest(0, order.length, 0, vertex, maxDemand, best);
+        return best[0] == Long.MAX_VALUE ? -1 : (int) best[0];
+    }
+
+    /**
+     * Searches the nearest vertex in the subtree over the positions lo...hi - 1.
+     *
+     * @param lo        The first position.
+     * @param hi        The position after the last.
+     * @param depth     The depth of the subtree.
+     * @param vertex    The query vertex.
+     * @param maxDemand The maximal demand.
+     * @param best      The key of the best vertex so far.
+     */
+    private void nearest(int lo, int hi, int depth, int vertex, int maxDemand, long[] best) {
+        if (lo >= hi)
+            return;
+        int mid = (lo + hi) >>> 1;
+        if (aliveCount[mid] == 0 || minDemand[mid] > maxDemand)
+            return;
+        int candidate = order[mid];
+        if (!deleted[candidate] && candidate != vertex && demands[candidate] <= maxDemand)
+            best[0] = Math.min(best[0], key(vertex, candidate));
+
+        int axis = depth & 1;
+        int diff = coordinate(vertex, axis) - coordinate(candidate, axis);
+        boolean leftFirst = compare(vertex, candidate, axis) < 0;
+        if (leftFirst)
+            nearest(lo, mid, depth + 1, vertex, maxDemand, best);
+        else
+            nearest(mid + 1, hi, depth + 1, vertex, maxDemand, best);
+        if (bound(diff) <= best[0] >>> 32) {
+            if (leftFirst)
+                nearest(mid + 1, hi, depth + 1, vertex, maxDemand, best);
+            else
+                nearest(lo, mid, depth + 1, vertex, maxDemand, best);
+        }
+    }
+
+    /**
+     * Finds the k nearest alive vertices to a vertex, the vertex itself excluded.
+     *
+     * @param vertex The vertex.
+     * @param k      The number of neighbors.
+     * @return The at most k nearest vertices, ordered by distance and on equal distances by index.
+     */
+    public int[] nearestNeighbors(int vertex, int k) {
+        // max heap of the keys of the k best vertices so far
+        long[] heap = new long[k];
+        int size = k == 0 ? 0 : nearest(0, order.length, 0, vertex, heap, 0);
+        Arrays.sort(heap, 0, size);
+        int[] neighbors = new int[size];
+        for (int n = 0; n < size; n++)
+            neighbors[n] = (int) heap[n];
+        return neighbors;
+    }
+
+    /**
+     * Searches the k nearest vertices in the subtree over the positions lo...hi - 1.
+     *
+     * @param lo     The first position.
+     * @param hi     The position after the last.
+     * @param depth  The depth of the subtree.
+     * @param vertex The query vertex.
+     * @param heap   The max heap of the keys of the best vertices so far.
+     * @param size   The size of the heap.
+     * @return The new size of the heap.
+     */
+    private int nearest(int lo, int hi, int depth, int vertex, long[] heap, int size) {
+        if (lo >= hi)
+            return size;
+        int mid = (lo + hi) >>> 1;
+        if (aliveCount[mid] == 0)
+            return size;
+        int candidate = order[mid];
+        if (!deleted[candidate] && candidate != vertex) {
+            long key = key(vertex, candidate);
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+
+        int axis = depth & 1;
+        int diff = coordinate(vertex, axis) - coordinate(candidate, axis);
+        boolean leftFirst = compare(vertex, candidate, axis) < 0;
+        size = leftFirst ? nearest(lo, mid, depth + 1, vertex, heap, size)
+                : nearest(mid + 1, hi, depth + 1, vertex, heap, size);
+        if (size < heap.length || bound(diff) <= heap[0] >>> 32) {
+            size = leftFirst ? nearest(mid + 1, hi, depth + 1, vertex, heap, size)
+                    : nearest(lo, mid, depth + 1, vertex, heap, size);
+        }
+        return size;
+    }
+
+    /**
+     * Finds the alive vertices within a radius around a vertex, the vertex itself excluded.
+     *
+     * @param vertex The vertex.
+     * @param radius The radius, compared with the rounded distances.
+     * @return The vertices within the radius, ordered by distance and on equal distances by index.
+     */
+    public int[] withinRadius(int vertex, double radius) {
+        long[] keys = new long[size()];
+        int size = withinRadius(0, order.length, 0, vertex, radius, keys, 0);
+        Arrays.sort(keys, 0, size);
+        int[] neighbors = new int[size];
+        for (int n = 0; n < size; n++)
+            neighbors[n] = (int) keys[n];
+        return neighbors;
+    }
+
+    /**
+     * Collects the vertices within the radius in the subtree over the positions lo...hi - 1.
+     *
+     * @param lo     The first position.
+     * @param hi     The position after the last.
+     * @param depth  The depth of the subtree.
+     * @param vertex The query vertex.
+     * @param radius The radius.
+     * @param keys   The keys of the collected vertices.
+     * @param size   The number of collected vertices.
+     * @return The new number of collected vertices.
+     */
+    private int withinRadius(int lo, int hi, int depth, int vertex, double radius, long[] keys, int size) {
+        if (lo >= hi)
+            return size;
+        int mid = (lo + hi) >>> 1;
+        if (aliveCount[mid] == 0)
+            return size;
+        int candidate = order[mid];
+        if (!deleted[candidate] && candidate != vertex && distance(vertex, candidate) <= radius)
+            keys[size++] = key(vertex, candidate);
+
+        int axis = depth & 1;
+        int diff = coordinate(vertex, axis) - coordinate(candidate, axis);
+        // the left subtree holds the coordinates up to the split and the right one from the split on
+        if (diff <= 0 || bound(diff) <= radius)
+            size = withinRadius(lo, mid, depth + 1, vertex, radius, keys, size);
+        if (diff >= 0 || bound(diff) <= radius)
+            size = withinRadius(mid + 1, hi, depth + 1, vertex, radius, keys, size);
+        return size;
+    }
+
+    /**
+     * Gets the lower bound of the rounded distances to the vertices behind a splitting line.
+     * The coordinates are whole numbers, so the distance to the line is its own rounded value.
+     *
+     * @param diff The difference of the coordinates to the splitting line.
+     * @return The distance to the splitting line.
+     */
+    private static long bound(int diff) {
+        return Math.abs((long) diff);
+    }
+
+    /**
+     * Gets the rounded distance between two vertices.
+     *
+     * @param i The first vertex.
+     * @param j The second vertex.
+     * @return The rounded distance.
+     */
+    private double distance(int i, int j) {
+        return vertices[i].distanceTo(vertices[j]);
+    }
+
+    /**
+     * Gets the sort key of a vertex for a query, the distances are whole numbers and sorted together with the index.
+     *
+     * @param vertex    The query vertex.
+     * @param candidate The candidate vertex.
+     * @return The key of the candidate.
+     */
+    private long key(int vertex, int candidate) {
+        return ((long) distance(vertex, candidate) << 32) | candidate;
+    }
+
+    /**
+     * Restores the max heap after an insertion at the position.
+     *
+     * @param heap     The heap.
+     * @param position The position of the inserted key.
+     */
+    private static void siftUp(long[] heap, int position) {
+        long key = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent] >= key)
+                break;
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = key;
+    }
+
+    /**
+     * Restores the max heap after the root was replaced.
+     *
+     * @param heap The heap.
+     * @param size The size of the heap.
+     */
+    private static void siftDown(long[] heap, int size) {
+        long key = heap[0];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && heap[child + 1] > heap[child])
+                child++;
+            if (heap[child] <= key)
+                break;
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = key;
+    }
+}
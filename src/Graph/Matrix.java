@@ -0,0 +1,107 @@
+package Graph;
+
+/**
+ * Square matrix of real values. The index decides where an entry is stored, the subclass how it is stored.
+ */
+public abstract class Matrix {
+    /**
+     * The index of the matrix.
+     */
+    protected final MatrixIndex index;
+
+    /**
+     * Constructor.
+     *
+     * @param index The index of the matrix.
+     */
+    public Matrix(MatrixIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Gets the value of the entry (i,j).
+     *
+     * @param i The row.
+     * @param j The column.
+     * @return The value of the entry.
+     */
+    public double get(int i, int j) {
+        return getAt(index.index(i, j));
+    }
+
+    /**
+     * Sets the value of the entry (i,j).
+     *
+     * @param i     The row.
+     * @param j     The column.
+     * @param value The new value of the entry.
+     */
+    public void set(int i, int j, double value) {
+        setAt(index.index(i, j), value);
+    }
+
+    /**
+     * Gets the value at a position of the storage.
+     *
+     * @param position The position.
+     * @return The value at the position.
+     */
+    public abstract double getAt(int position);
+
+    /**
+     * Gets the value at a position of the storage, rounded to the nearest whole number.
+     *
+     * @param position The position.
+     * @return The rounded value at the position.
+     */
+    public int getIntAt(int position) {
+        return (int) Math.round(getAt(position));
+    }
+
+    /**
+     * Sets the value at a position of the storage.
+     *
+     * @param position The position.
+     * @param value    The new value.
+     */
+    public abstract void setAt(int position, double value);
+
+    /**
+     * Sets all stored entries to the value.
+     *
+     * @param value The value.
+     */
+    public abstract void fill(double value);
+
+    /**
+     * Multiplies all stored entries with the factor.
+     *
+     * @param factor The factor.
+     */
+    public abstract void multiply(double factor);
+
+    /**
+     * Limits all stored entries to the range [min, max].
+     *
+     * @param min The lower limit.
+     * @param max The upper limit.
+     */
+    public void clamp(double min, double max) {
+        for (int position = 0; position < index.length(); position++) {
+            double value = getAt(position);
+            if (value < min)
+                setAt(position, min);
+            else if (value > max)
+                setAt(position, max);
+        }
+    }
+
+    /**
+     * Gets the index of the matrix.
+     *
+     * @return The index.
+     */
+    public MatrixIndex getIndex() {
+        return index;
+    }
+}
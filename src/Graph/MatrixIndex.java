@@ -0,0 +1,89 @@
+package Graph;
+
+/**
+ * Maps the entries (i,j) of a square matrix to the positions of its storage.
+ */
+public abstract class MatrixIndex {
+    /**
+     * Number of rows and columns of the matrix.
+     */
+    protected final int size;
+
+    /**
+     * Constructor.
+     *
+     * @param size Number of rows and columns of the matrix.
+     */
+    public MatrixIndex(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Gets the position of the entry (i,j) in the storage.
+     *
+     * @param i The row.
+     * @param j The column.
+     * @return The position of the entry, -1 if the entry is not stored.
+     */
+    public abstract int index(int i, int j);
+
+    /**
+     * Gets the number of stored columns of a row.
+     * Iterating over the stored columns of all rows visits every stored entry at least once.
+     *
+     * @param i The row.
+     * @return The number of stored columns.
+     */
+    public abstract int numOfColumns(int i);
+
+    /**
+     * Gets a stored column of a row.
+     *
+     * @param i The row.
+     * @param k The k-th stored column, between 0 and the number of stored columns - 1.
+     * @return The column.
+     */
+    public abstract int column(int i, int k);
+
+    /**
+     * Gets the position of a stored column of a row in the storage, without searching the column.
+     *
+     * @param i The row.
+     * @param k The k-th stored column, between 0 and the number of stored columns - 1.
+     * @return The position of the entry.
+     */
+    public abstract int position(int i, int k);
+
+    /**
+     * Gets the number of stored entries.
+     *
+     * @return The length of the storage.
+     */
+    public abstract int length();
+
+    /**
+     * Describes whether the entries (i,j) and (j,i) share the same position.
+     *
+     * @return <CODE>true</CODE> if the index is symmetric, <CODE>false</CODE> otherwise
+     */
+    public abstract boolean isSymmetric();
+
+    /**
+     * Describes whether every row lists all of its stored columns, also the entries it shares with another row.
+     * Otherwise a shared entry is only listed in one of its rows.
+     *
+     * @return <CODE>true</CODE> if the rows are complete, <CODE>false</CODE> otherwise
+     */
+    public boolean hasCompleteRows() {
+        return true;
+    }
+
+    /**
+     * Gets the number of rows and columns of the matrix.
+     *
+     * @return The size of the matrix.
+     */
+    public int getSize() {
+        return size;
+    }
+}
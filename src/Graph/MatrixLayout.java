@@ -0,0 +1,30 @@
+package Graph;
+
+/**
+ * Layout of the matrices of a graph.
+ */
+public enum MatrixLayout {
+    /**
+     * All entries in one row-major array.
+     */
+    FLAT,
+    /**
+     * Only the lower triangle, for symmetric matrices.
+     * Halves the memory of the matrices but not the run time: every access pays a branch and the row offset, so the
+     * ants are slower than with the flat layout unless they only read their candidate lists.
+     */
+    SYMMETRIC;
+
+    /**
+     * Creates the index of a matrix with this layout.
+     *
+     * @param size Number of rows and columns of the matrix.
+     * @return The index of the matrix.
+     */
+    public MatrixIndex createIndex(int size) {
+        return switch (this) {
+            case FLAT -> new FlatIndex(size);
+            case SYMMETRIC -> new SymmetricIndex(size);
+        };
+    }
+}
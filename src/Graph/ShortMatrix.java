@@ -0,0 +1,65 @@
+package Graph;
+
+import java.util.Arrays;
+
+/**
+ * Matrix with whole number entries between -32768 and 32767, a quarter of the memory of a double matrix.
+ * Written values are rounded to the nearest whole number.
+ */
+public class ShortMatrix extends Matrix {
+    /**
+     * The stored entries.
+     */
+    private final short[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param index The index of the matrix.
+     */
+    public ShortMatrix(MatrixIndex index) {
+        super(index);
+        this.values = new short[index.length()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAt(int position) {
+        return values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getIntAt(int position) {
+        return values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setAt(int position, double value) {
+        values[position] = (short) Math.round(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fill(double value) {
+        Arrays.fill(values, (short) Math.round(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multiply(double factor) {
+        for (int k = 0; k < values.length; k++)
+            values[k] = (short) Math.round(values[k] * factor);
+    }
+}
@@ -0,0 +1,125 @@
+package Graph;
+
+import java.util.Arrays;
+
+/**
+ * Stores only the edges between neighbors. The edge(i,j) is stored if j is a neighbor of i or i a neighbor of j,
+ * (i,j) and (j,i) share one position. The memory grows with the number of neighbors instead of the squared number
+ * of vertices.
+ */
+public class SparseIndex extends MatrixIndex {
+    /**
+     * The neighbors of each vertex in both directions, sorted ascending.
+     */
+    private final int[][] columns;
+    /**
+     * The storage position of each entry of columns.
+     */
+    private final int[][] positions;
+    /**
+     * Number of stored entries.
+     */
+    private final int length;
+
+    /**
+     * Constructor.
+     *
+     * @param neighbors The neighbors of each vertex.
+     */
+    public SparseIndex(int[][] neighbors) {
+        super(neighbors.length);
+        this.columns = new int[size][];
+        this.positions = new int[size][];
+
+        // collect the neighbors in both directions
+        int[] degree = new int[size];
+        for (int i = 0; i < size; i++) {
+            for (int j : neighbors[i]) {
+                degree[i]++;
+                degree[j]++;
+            }
+        }
+        for (int i = 0; i < size; i++)
+            columns[i] = new int[degree[i]];
+        Arrays.fill(degree, 0);
+        for (int i = 0; i < size; i++) {
+            for (int j : neighbors[i]) {
+                columns[i][degree[i]++] = j;
+                columns[j][degree[j]++] = i;
+            }
+        }
+
+        // sort and remove the mutual neighbors which were added twice
+        for (int i = 0; i < size; i++) {
+            int[] row = columns[i];
+            Arrays.sort(row);
+            int unique = 0;
+            for (int k = 0; k < row.length; k++) {
+                if (unique == 0 || row[unique - 1] != row[k])
+                    row[unique++] = row[k];
+            }
+            columns[i] = Arrays.copyOf(row, unique);
+            positions[i] = new int[unique];
+        }
+
+        // the entry (i,j) gets a new position in row min(i,j) and shares it in row max(i,j)
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            for (int k = 0; k < columns[i].length; k++) {
+                int j = columns[i][k];
+                positions[i][k] = j > i ? next++ : positions[j][Arrays.binarySearch(columns[j], i)];
+            }
+        }
+        this.length = next;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int index(int i, int j) {
+        int k = Arrays.binarySearch(columns[i], j);
+        return k >= 0 ? positions[i][k] : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Every entry is listed in both of its rows.
+     */
+    @Override
+    public int numOfColumns(int i) {
+        return columns[i].length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int column(int i, int k) {
+        return columns[i][k];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int position(int i, int k) {
+        return positions[i][k];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+}
@@ -12,6 +12,19 @@ public record Vertex(int x, int y) {
      * @return The distance (rounded to two decimal places) from this vertex the other vertex.
      */
     public double distanceTo(Vertex other) {
-        return Math.round(Math.sqrt(Math.pow(this.x - other.x, 2) + Math.pow(this.y - other.y, 2)));
+        // the squares of whole numbers are exact, the same as Math.pow(..., 2) without the call
+        double dx = this.x - other.x;
+        double dy = this.y - other.y;
+        return Math.round(Math.sqrt(dx * dx + dy * dy));
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the distance from this vertex the other vertex as a whole number, the cost of the edge between them.
+     *
+     * @param other The other vertex.
+     * @return The rounded euclidean distance from this vertex the other vertex.
+     */
+    public int costTo(Vertex other) {
+        return (int) distanceTo(other);
+    }
+}
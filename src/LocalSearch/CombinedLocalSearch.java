@@ -0,0 +1,50 @@
+package LocalSearch;
+
+/**
+ * Applies several local searches in turn, until a round of all of them does not shorten the tour anymore.
+ * E.g. the intra-route 2-opt and the inter-route moves, each search reaches a local optimum of its own moves.
+ */
+public class CombinedLocalSearch extends LocalSearch {
+    /**
+     * The local searches in the order of their application.
+     */
+    private final LocalSearch[] searches;
+
+    /**
+     * Constructor.
+     *
+     * @param searches The local searches in the order of their application, on the same graph, at least one.
+     */
+    public CombinedLocalSearch(LocalSearch... searches) {
+        super(firstOf(searches).graph, searches[0].neighbors);
+        this.searches = searches.clone();
+    }
+
+    /**
+     * Gets the first local search, the combined search shares its graph and neighbors.
+     *
+     * @param searches The local searches.
+     * @return The first local search.
+     */
+    private static LocalSearch firstOf(LocalSearch[] searches) {
+        if (searches.length < 1)
+            throw new IllegalArgumentException("There has to be at least one local search.");
+        return searches[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int improve(int[] tour, int tourSize) {
+        int length = tourLength(tour, tourSize);
+        int previousLength;
+        do {
+            previousLength = length;
+            for (LocalSearch search : searches)
+                tourSize = search.improve(tour, tourSize);
+            length = tourLength(tour, tourSize);
+        } while (length < previousLength);
+        return tourSize;
+    }
+}
@@ -0,0 +1,127 @@
+package LocalSearch;
+
+import Graph.Graph;
+import Solution.Solution;
+
+/**
+ * Local search between the routes with relocate, swap and 2-opt* moves, respecting the capacity of the vehicles.
+ * The neighborhood is granular: a move is only tried between a customer and one of its nearest neighbors in another
+ * route, so a pass over all customers is linear in their number.
+ * A move is evaluated in constant time with the deltas and feasibility checks of the solution. The first improving
+ * move is applied, a route can be emptied but no new route is opened.
+ */
+public class InterRouteSearch extends LocalSearch {
+    /**
+     * The solution of the tour to improve.
+     */
+    private final Solution solution;
+
+    /**
+     * Constructor.
+     *
+     * @param graph          The graph with the distances and demands.
+     * @param numOfNeighbors The number of neighbors of each vertex to consider for the moves.
+     * @param capacity       The capacity of a vehicle.
+     */
+    public InterRouteSearch(Graph graph, int numOfNeighbors, int capacity) {
+        super(graph, numOfNeighbors);
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity has to be greater than 0.");
+        this.solution = new Solution(graph, capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int improve(int[] tour, int tourSize) {
+        solution.load(tour, tourSize);
+        activateAll(tour, tourSize);
+        int depot = solution.getDepot();
+        int u;
+        while ((u = nextActive()) != -1) {
+            for (int v : neighbors[u]) {
+                if (v != depot && solution.getRouteOf(v) != solution.getRouteOf(u) && applyImprovingMove(u, v))
+                    break;
+            }
+        }
+        return solution.writeTour(tour);
+    }
+
+    /**
+     * Tries the moves between two customers of different routes and applies the first improving feasible one.
+     *
+     * @param u The customer.
+     * @param v The neighbor of the customer.
+     * @return <CODE>true</CODE> if a move was applied, <CODE>false</CODE> otherwise
+     */
+    private boolean applyImprovingMove(int u, int v) {
+        int rv = solution.getRouteOf(v);
+        int pu = solution.getPrevious(u);
+        int nu = solution.getNext(u);
+        int pv = solution.getPrevious(v);
+        int nv = solution.getNext(v);
+
+        // relocate u after or before v, the removal of u is shared by both moves
+        if (solution.isRelocateFeasible(u, rv)) {
+            int position = solution.getPositionOf(v);
+            int removal = solution.removalDelta(u);
+            if (removal + solution.insertionDelta(u, rv, position + 1) < 0) {
+                solution.relocate(u, rv, position + 1);
+                return applied(u, v, pu, nu, pv, nv);
+            }
+            if (removal + solution.insertionDelta(u, rv, position) < 0) {
+                solution.relocate(u, rv, position);
+                return applied(u, v, pu, nu, pv, nv);
+            }
+        }
+
+        // swap u and v
+        if (solution.isSwapFeasible(u, v) && solution.swapDelta(u, v) < 0) {
+            solution.swap(u, v);
+            return applied(u, v, pu, nu, pv, nv);
+        }
+
+        // 2-opt* with the new edge (u,v) or (v,u)
+        if (solution.isTwoOptStarFeasible(u, v) && solution.twoOptStarDelta(u, v) < 0) {
+            solution.twoOptStar(u, v);
+            return applied(u, v, pu, nu, pv, nv);
+        }
+        if (solution.isTwoOptStarFeasible(v, u) && solution.twoOptStarDelta(v, u) < 0) {
+            solution.twoOptStar(v, u);
+            return applied(u, v, pu, nu, pv, nv);
+        }
+        return false;
+    }
+
+    /**
+     * Clears the don't-look bits of the customers of an applied move.
+     *
+     * @param u  The customer.
+     * @param v  The neighbor of the customer.
+     * @param pu The previous vertex of u before the move.
+     * @param nu The next vertex of u before the move.
+     * @param pv The previous vertex of v before the move.
+     * @param nv The next vertex of v before the move.
+     * @return Always <CODE>true</CODE>.
+     */
+    private boolean applied(int u, int v, int pu, int nu, int pv, int nv) {
+        activateCustomer(u);
+        activateCustomer(v);
+        activateCustomer(pu);
+        activateCustomer(nu);
+        activateCustomer(pv);
+        activateCustomer(nv);
+        return true;
+    }
+
+    /**
+     * Clears the don't-look bit of a vertex, unless it is the depot.
+     *
+     * @param vertex The vertex.
+     */
+    private void activateCustomer(int vertex) {
+        if (vertex != solution.getDepot())
+            activate(vertex);
+    }
+}
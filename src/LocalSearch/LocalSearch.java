@@ -0,0 +1,152 @@
+package LocalSearch;
+
+import Graph.Graph;
+
+/**
+ * Local search to improve a tour of routes.
+ * A tour starts at the depot and visits it again at the end of every route, so the routes are separated by the depot.
+ * Only the neighbors of a vertex are considered as partners of a move, and every vertex has a don't-look bit: a vertex
+ * is only searched again after a move changed one of its edges, so a search costs close to linear time.
+ * The searches load the tour into a {@link Solution.Solution}, which evaluates a move in constant time.
+ */
+public abstract class LocalSearch {
+    /**
+     * The graph with the distances.
+     */
+    protected final Graph graph;
+    /**
+     * The nearest neighbors of each vertex, ordered by distance.
+     */
+    protected final int[][] neighbors;
+    /**
+     * The queue of the vertices to search, the vertices with a cleared don't-look bit.
+     */
+    private final int[] queue;
+    /**
+     * Describes whether a vertex is in the queue.
+     */
+    private final boolean[] queued;
+    /**
+     * The position of the first vertex in the queue.
+     */
+    private int head;
+    /**
+     * The number of vertices in the queue.
+     */
+    private int queueSize;
+
+    /**
+     * Constructor.
+     *
+     * @param graph          The graph with the distances.
+     * @param numOfNeighbors The number of neighbors of each vertex to consider for the moves.
+     */
+    public LocalSearch(Graph graph, int numOfNeighbors) {
+        this(graph, computeNeighbors(graph, numOfNeighbors));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param graph     The graph with the distances.
+     * @param neighbors The neighbors of each vertex to consider for the moves, ordered by distance.
+     */
+    protected LocalSearch(Graph graph, int[][] neighbors) {
+        int numOfVertices = graph.getNumOfVertices();
+        this.graph = graph;
+        this.neighbors = neighbors;
+        this.queue = new int[numOfVertices];
+        this.queued = new boolean[numOfVertices];
+    }
+
+    /**
+     * Computes the nearest neighbors of each vertex.
+     *
+     * @param graph          The graph with the distances.
+     * @param numOfNeighbors The number of neighbors of each vertex.
+     * @return The nearest neighbors of each vertex.
+     */
+    private static int[][] computeNeighbors(Graph graph, int numOfNeighbors) {
+        if (numOfNeighbors < 1)
+            throw new IllegalArgumentException("The number of neighbors has to be greater than 0.");
+        return graph.computeNearestNeighbors(numOfNeighbors);
+    }
+
+    /**
+     * Improves the tour in place.
+     * The tour may get shorter if a route is emptied.
+     *
+     * @param tour     The tour, starting and ending at the depot.
+     * @param tourSize The number of vertices in the tour.
+     * @return The new number of vertices in the tour.
+     */
+    public abstract int improve(int[] tour, int tourSize);
+
+    /**
+     * Clears the don't-look bits of all customers of the tour, in tour order.
+     *
+     * @param tour     The tour.
+     * @param tourSize The number of vertices in the tour.
+     */
+    protected void activateAll(int[] tour, int tourSize) {
+        head = 0;
+        queueSize = 0;
+        for (int k = 0; k < tourSize; k++) {
+            if (tour[k] != tour[0])
+                activate(tour[k]);
+        }
+    }
+
+    /**
+     * Clears the don't-look bit of a vertex, so it is searched again.
+     *
+     * @param vertex The vertex.
+     */
+    protected void activate(int vertex) {
+        if (queued[vertex])
+            return;
+        queued[vertex] = true;
+        queue[(head + queueSize) % queue.length] = vertex;
+        queueSize++;
+    }
+
+    /**
+     * Takes the next vertex to search and sets its don't-look bit.
+     *
+     * @return The next vertex or -1 if all don't-look bits are set.
+     */
+    protected int nextActive() {
+        if (queueSize == 0)
+            return -1;
+        int vertex = queue[head];
+        head = (head + 1) % queue.length;
+        queueSize--;
+        queued[vertex] = false;
+        return vertex;
+    }
+
+    /**
+     * Computes the length of the tour.
+     *
+     * @param tour     The tour.
+     * @param tourSize The number of vertices in the tour.
+     * @return The length of the tour.
+     */
+    protected int tourLength(int[] tour, int tourSize) {
+        int length = 0;
+        for (int k = 0; k < tourSize - 1; k++)
+            length += cost(tour[k], tour[k + 1]);
+        return length;
+    }
+
+    /**
+     * Gets the cost of the edge(i,j).
+     *
+     * @param i The first vertex.
+     * @param j The second vertex.
+     * @return The cost of the edge(i,j).
+     */
+    protected int cost(int i, int j) {
+        return graph.getCost(i, j);
+    }
+}
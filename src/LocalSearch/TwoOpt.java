@@ -0,0 +1,134 @@
+package LocalSearch;
+
+import Graph.Graph;
+import Solution.Solution;
+
+/**
+ * 2-opt inside the routes: replaces two edges of a route by two shorter ones and reverses the path between them.
+ * A move adding the edge between a vertex and one of its neighbors can only improve the route if this edge is
+ * shorter than the replaced edge at the vertex, so the neighbors are only scanned up to that distance.
+ * The first improving move is applied.
+ */
+public class TwoOpt extends LocalSearch {
+    /**
+     * The solution of the tour to improve.
+     */
+    private final Solution solution;
+
+    /**
+     * Constructor.
+     *
+     * @param graph          The graph with the distances.
+     * @param numOfNeighbors The number of neighbors of each vertex to consider for the moves.
+     */
+    public TwoOpt(Graph graph, int numOfNeighbors) {
+        super(graph, numOfNeighbors);
+        // the moves inside a route do not change its load
+        this.solution = new Solution(graph, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The routes keep their customers, only empty routes are left out.
+     */
+    @Override
+    public int improve(int[] tour, int tourSize) {
+        solution.load(tour, tourSize);
+        activateAll(tour, tourSize);
+        int vertex;
+        while ((vertex = nextActive()) != -1) {
+            if (improveSuccessor(vertex) || improvePredecessor(vertex))
+                activate(vertex);
+        }
+        return solution.writeTour(tour);
+    }
+
+    /**
+     * Searches a move replacing the edge from the vertex to its successor.
+     * The new edges are (a, c) and (a + 1, c + 1) for the vertex a and a neighbor c.
+     *
+     * @param a The vertex.
+     * @return <CODE>true</CODE> if a move was applied, <CODE>false</CODE> otherwise
+     */
+    private boolean improveSuccessor(int a) {
+        int depot = solution.getDepot();
+        int p = solution.getPositionOf(a);
+        int route = solution.getRouteOf(a);
+        int aNext = solution.getNext(a);
+        int removedAtA = cost(a, aNext);
+        for (int c : neighbors[a]) {
+            if (cost(a, c) >= removedAtA)
+                break;
+            // the depot is the successor of a only at the start of the route
+            int q;
+            if (c == depot)
+                q = -1;
+            else if (solution.getRouteOf(c) == route)
+                q = solution.getPositionOf(c);
+            else
+                continue;
+            int cNext = solution.getVertex(route, q + 1);
+            int from = Math.min(p, q) + 1;
+            int to = Math.max(p, q);
+            if (solution.twoOptDelta(route, from, to) < 0) {
+                solution.twoOpt(route, from, to);
+                activateEndpoints(depot, aNext, c, cNext);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches a move replacing the edge from the vertex to its predecessor.
+     * The new edges are (a, c) and (a - 1, c - 1) for the vertex a and a neighbor c.
+     *
+     * @param a The vertex.
+     * @return <CODE>true</CODE> if a move was applied, <CODE>false</CODE> otherwise
+     */
+    private boolean improvePredecessor(int a) {
+        int depot = solution.getDepot();
+        int p = solution.getPositionOf(a);
+        int route = solution.getRouteOf(a);
+        int aPrev = solution.getPrevious(a);
+        int removedAtA = cost(aPrev, a);
+        for (int c : neighbors[a]) {
+            if (cost(a, c) >= removedAtA)
+                break;
+            // the depot is the predecessor of a only at the end of the route
+            int q;
+            if (c == depot)
+                q = solution.getRouteSize(route);
+            else if (solution.getRouteOf(c) == route)
+                q = solution.getPositionOf(c);
+            else
+                continue;
+            int cPrev = solution.getVertex(route, q - 1);
+            int from = Math.min(p, q);
+            int to = Math.max(p, q) - 1;
+            if (solution.twoOptDelta(route, from, to) < 0) {
+                solution.twoOpt(route, from, to);
+                activateEndpoints(depot, aPrev, c, cPrev);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clears the don't-look bits of the customers at the changed edges, the vertex itself is activated by the caller.
+     *
+     * @param depot The depot.
+     * @param u     The first vertex at the changed edges.
+     * @param v     The second vertex at the changed edges.
+     * @param w     The third vertex at the changed edges.
+     */
+    private void activateEndpoints(int depot, int u, int v, int w) {
+        if (u != depot)
+            activate(u);
+        if (v != depot)
+            activate(v);
+        if (w != depot)
+            activate(w);
+    }
+}
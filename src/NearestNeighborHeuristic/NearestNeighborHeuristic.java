@@ -1,6 +1,8 @@
 package NearestNeighborHeuristic;
 
-import Graph.Graph;
+import Graph.KdTree;
+import Graph.Vertex;
+import Solution.Solution;
 import Utilities.ProblemInstance;
 
 import java.util.ArrayList;
@@ -10,9 +12,13 @@ import java.util.ArrayList;
  */
 public class NearestNeighborHeuristic {
     /**
-     * The graph for the problem.
+     * The vertices of the problem.
      */
-    private final Graph graph;
+    private final Vertex[] vertices;
+    /**
+     * The demands of the vertices.
+     */
+    private final int[] demands;
     /**
      * The capacity of a vehicle.
      */
@@ -28,25 +34,23 @@ public class NearestNeighborHeuristic {
     /**
      * The length of the tour.
      */
-    private double tourLength;
-
+    private int tourLength;
     /**
-     * The feasible vertices for the next selection.
+     * The spatial index of the not visited vertices.
      */
-    private final ArrayList<Integer> feasibleVertices;
-
+    private KdTree notVisitedVertices;
 
     /**
      * Constructor.
-     * Construct the graph for the problem.
+     * The distances are computed from the vertices, no distance matrix is built.
      *
      * @param problem The problem to solve.
      */
     public NearestNeighborHeuristic(ProblemInstance problem) {
-        this.graph = new Graph(problem.getVertices(), problem.getDemands());
-        this.tour = new ArrayList<>(graph.getNumOfVertices() + 1);
+        this.vertices = problem.getVertices();
+        this.demands = problem.getDemands();
+        this.tour = new ArrayList<>(vertices.length + 1);
         this.capacity = problem.getVehicleCapacity();
-        feasibleVertices = new ArrayList<>(graph.getNumOfVertices());
     }
 
     /**
@@ -57,33 +61,26 @@ public class NearestNeighborHeuristic {
         int currentVertex = 0;
 
         // initialize not visited vertices
-        ArrayList<Integer> notVisitedVertices = new ArrayList<>(graph.getNumOfVertices());
-        for (int i = 1; i < graph.getNumOfVertices(); i++)
-            notVisitedVertices.add(i);
+        notVisitedVertices = initializeNotVisitedVertices();
 
         // ends when their is no more vertex to visit
-        while (!notVisitedVertices.isEmpty()) {
+        while (notVisitedVertices.size() > 0) {
             currentLoad = 0;
             tour.add(currentVertex);
-            feasibleVertices.addAll(notVisitedVertices);
-            while (!feasibleVertices.isEmpty()) {
-                // get the next vertex
-                int nextVertex = getNextVertex(currentVertex);
-
-                // remove the next vertex from the list of not visited vertices
-                notVisitedVertices.remove((Integer) nextVertex);
-                feasibleVertices.remove((Integer) nextVertex);
+            // get the next vertex, ends the route if no vertex fits the remaining capacity
+            int nextVertex;
+            while ((nextVertex = getNextVertex(currentVertex)) != -1) {
+                // remove the next vertex from the not visited vertices
+                notVisitedVertices.delete(nextVertex);
 
                 // add the next vertex to the tour
                 tour.add(nextVertex);
 
                 // increase load
-                currentLoad += graph.getDemands(nextVertex);
+                currentLoad += demands[nextVertex];
 
                 // next vertex is the new current vertex
                 currentVertex = nextVertex;
-
-                updateFeasibleVertices();
             }
             // complete the route
             tour.add(tour.get(0));
@@ -97,30 +94,14 @@ public class NearestNeighborHeuristic {
 
     /**
      * Gets the next vertex.
-     * Selects the shortest distance between the current vertex to another vertex.
+     * Selects the shortest distance between the current vertex to a not visited vertex, whose demand does not exceed
+     * the remaining capacity. On equal distances the vertex with the lower index is selected.
      *
      * @param currentVertex The current vertex.
-     * @return The next vertex to visit.
+     * @return The next vertex to visit or -1 if there is no feasible vertex.
      */
     private int getNextVertex(int currentVertex) {
-        int nextVertex = feasibleVertices.get(0);
-        double min = graph.getDistance(currentVertex, nextVertex);
-
-        for (int j : feasibleVertices) {
-            if (graph.getDistance(currentVertex, j) < min) {
-                nextVertex = j;
-                min = graph.getDistance(currentVertex, nextVertex);
-            }
-        }
-        return nextVertex;
-    }
-
-    /**
-     * Update the feasible vertices for the next selection.
-     * A vertex is feasible if the additional demand does not exceed the capacity otherwise it will be removed.
-     */
-    private void updateFeasibleVertices() {
-        feasibleVertices.removeIf(feasibleVertex -> currentLoad + graph.getDemands(feasibleVertex) > capacity);
+        return notVisitedVertices.nearestFeasible(currentVertex, capacity - currentLoad);
     }
 
     /**
@@ -128,18 +109,18 @@ public class NearestNeighborHeuristic {
      */
     private void computeTourLength() {
         for (int i = 0; i < tour.size() - 1; i++) {
-            tourLength += graph.getDistance(tour.get(i), tour.get(i + 1));
+            tourLength += vertices[tour.get(i)].costTo(vertices[tour.get(i + 1)]);
         }
     }
 
     /**
      * Initializes the not visited vertices.
      *
-     * @return A list of not visited vertices for the ant.
+     * @return A spatial index of the not visited vertices, the depot is deleted.
      */
-    public ArrayList<Integer> initializeNotVisitedVertices() {
-        ArrayList<Integer> notVisitedVertices = new ArrayList<>();
-        for (int i = 1; i < graph.getNumOfVertices(); i++) notVisitedVertices.add(i);
+    public KdTree initializeNotVisitedVertices() {
+        KdTree notVisitedVertices = new KdTree(vertices, demands);
+        notVisitedVertices.delete(0);
         return notVisitedVertices;
     }
 
@@ -152,12 +133,21 @@ public class NearestNeighborHeuristic {
         return tour.stream().mapToInt(i -> i).toArray();
     }
 
+    /**
+     * Gets the tour as a solution with routes.
+     *
+     * @return The solution.
+     */
+    public Solution getSolution() {
+        return new Solution(vertices, demands, capacity, getTour());
+    }
+
     /**
      * Gets the length of the tour.
      *
      * @return The length of the tour.
      */
-    public double getTourLength() {
+    public int getTourLength() {
         return tourLength;
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package Runner;
 
 import AntColonyOptimization.AntColonySystem;
+import SavingsAlgorithm.SavingsAlgorithm;
 import Utilities.ProblemInstance;
 import Utilities.Writer;
 
@@ -51,16 +52,19 @@ public class RunACS extends RunAS {
 
         // initialize writer
         Writer writer = new Writer(directory + "Detailed_Results/ACS/", problem.getName() +
-                "_beta" + beta + "_rho" + rho + "_tau0" + tau0 + "_q0" + q0 + "_it" + numIt);
+                "_beta" + beta + "_rho" + rho + "_tau0" + getTau0Label() + "_q0" + q0 + "_it" + numIt);
         writer.setHead("problem; " + "beta" + "; " + "rho" + "; " + "tau0" + "; " + "q0" + "; " + "iterations");
-        writer.addRecordToBody(problem.getName() + "; " + beta + "; " + rho + "; " + tau0 + "; " + q0 + "; " +
-                numIt);
+        writer.addRecordToBody(problem.getName() + "; " + beta + "; " + rho + "; " + getTau0Label() + "; " + q0 +
+                "; " + numIt);
         writer.addRecordToBody("");
         writer.addRecordToBody("nr; solution value; computation time in sec");
 
         // console output as user information
         System.out.println("Solving " + problem.getName() + ", please wait...");
 
+        // the savings algorithm is deterministic, all runs start from the same solution
+        SavingsAlgorithm savings = seedWithSavings ? solveSavings(problem) : null;
+
         // solve the problem numOfSolutions times
         for (int i = 0; i < numOfSolutions; i++) {
             // initialize the Ant Colony System
@@ -72,9 +76,13 @@ public class RunACS extends RunAS {
             antColonySystem.setInitialTau(tau0);
             antColonySystem.setNumberOfIterations(numIt);
             antColonySystem.setQ0(q0);
+            if (seed != null)
+                antColonySystem.setSeed(seed + i);
 
             // solve and measure time
             Instant start = Instant.now();
+            if (savings != null)
+                seed(antColonySystem, savings);
             antColonySystem.solve();
             Instant finish = Instant.now();
             long compTime = Duration.between(start, finish).toMillis();
@@ -85,10 +93,10 @@ public class RunACS extends RunAS {
             sumComputationTime += compTime;
 
             // set bounds
-            setBounds((int) antColonySystem.getBestTourLength());
+            setBounds(antColonySystem.getBestTourLength());
 
             // write result
-            writer.addRecordToBody(i + 1 + "; " + (int) antColonySystem.getBestTourLength() + "; "
+            writer.addRecordToBody(i + 1 + "; " + antColonySystem.getBestTourLength() + "; "
                     + compTime / 1000d);
         }
         writer.addRecordToBody("");
@@ -97,7 +105,7 @@ public class RunACS extends RunAS {
 
         // write summary
         writer = new Writer(directory + "Summarized_Results/", "summarized_results_acs" +
-                "_beta" + beta + "_rho" + rho + "_tau0" + tau0 + "_q0" + q0 + "_it" + numIt);
+                "_beta" + beta + "_rho" + rho + "_tau0" + getTau0Label() + "_q0" + q0 + "_it" + numIt);
         boolean append = true;
 
         // resets the file and sets the heading
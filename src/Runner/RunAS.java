@@ -1,6 +1,8 @@
 package Runner;
 
+import AntColonyOptimization.AntColonyOptimization;
 import AntColonyOptimization.AntSystem;
+import SavingsAlgorithm.SavingsAlgorithm;
 import Utilities.ProblemInstance;
 import Utilities.Writer;
 
@@ -32,6 +34,17 @@ public class RunAS extends RunAlgorithm {
      * Number of iterations.
      */
     protected int numIt;
+    /**
+     * The seed for the random streams, null for random seeds.
+     * The i-th solution of a problem is built with the seed + i.
+     */
+    protected Long seed;
+    /**
+     * Describes whether every run starts from the savings solution.
+     * The savings tour is the initial best tour and its length gives the initial tau value instead of tau0. It is
+     * solved once per problem, its time is not part of the computation times of the runs.
+     */
+    protected boolean seedWithSavings = false;
 
     /**
      * Constructor.
@@ -71,16 +84,19 @@ public class RunAS extends RunAlgorithm {
 
         // initialize writer
         Writer writer = new Writer(directory + "Detailed_Results/AS/", problem.getName() +
-                "_alpha" + alpha + "_beta" + beta + "_rho" + rho + "_tau0" + tau0 + "_it" + numIt);
+                "_alpha" + alpha + "_beta" + beta + "_rho" + rho + "_tau0" + getTau0Label() + "_it" + numIt);
         writer.setHead("problem; " + "alpha" + "; " + "beta" + "; " + "rho" + "; " + "tau0" + "; " + "iterations");
-        writer.addRecordToBody(problem.getName() + "; " + alpha + "; " + beta + "; " + rho + "; " + tau0 + "; " +
-                numIt);
+        writer.addRecordToBody(problem.getName() + "; " + alpha + "; " + beta + "; " + rho + "; " + getTau0Label() +
+                "; " + numIt);
         writer.addRecordToBody("");
         writer.addRecordToBody("nr; solution value; computation time in sec");
 
         // console output as user information
         System.out.println("Solving " + problem.getName() + ", please wait...");
 
+        // the savings algorithm is deterministic, all runs start from the same solution
+        SavingsAlgorithm savings = seedWithSavings ? solveSavings(problem) : null;
+
         // solve the problem numOfSolutions times
         for (int i = 0; i < numOfSolutions; i++) {
             // initialize the Ant System
@@ -92,9 +108,13 @@ public class RunAS extends RunAlgorithm {
             antSystem.setRho(rho);
             antSystem.setInitialTau(tau0);
             antSystem.setNumberOfIterations(numIt);
+            if (seed != null)
+                antSystem.setSeed(seed + i);
 
             // solve and measure time
             Instant start = Instant.now();
+            if (savings != null)
+                seed(antSystem, savings);
             antSystem.solve();
             Instant finish = Instant.now();
             long compTime = Duration.between(start, finish).toMillis();
@@ -105,10 +125,10 @@ public class RunAS extends RunAlgorithm {
             sumComputationTime += compTime;
 
             // set bounds
-            setBounds((int) antSystem.getBestTourLength());
+            setBounds(antSystem.getBestTourLength());
 
             // write result
-            writer.addRecordToBody(i + 1 + "; " + (int) antSystem.getBestTourLength() + "; "
+            writer.addRecordToBody(i + 1 + "; " + antSystem.getBestTourLength() + "; "
                     + compTime / 1000d);
         }
         writer.addRecordToBody("");
@@ -117,7 +137,7 @@ public class RunAS extends RunAlgorithm {
 
         // write summary
         writer = new Writer(directory + "Summarized_Results/", "summarized_results_as" +
-                "_alpha" + alpha + "_beta" + beta + "_rho" + rho + "_tau0" + tau0 + "_it" + numIt);
+                "_alpha" + alpha + "_beta" + beta + "_rho" + rho + "_tau0" + getTau0Label() + "_it" + numIt);
         boolean append = true;
 
         // resets the file and sets the heading
@@ -133,4 +153,55 @@ public class RunAS extends RunAlgorithm {
                 "; " + getStandardDeviation() + "; " + getAvgComputationTime());
         writer.write(append);
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the seed for the random streams, which makes the runs reproducible.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets whether every run starts from the savings solution.
+     * The savings tour is the initial best tour and its length gives the initial tau value instead of tau0.
+     *
+     * @param seedWithSavings <CODE>true</CODE> to seed the runs, <CODE>false</CODE> otherwise
+     */
+    public void setSeedWithSavings(boolean seedWithSavings) {
+        this.seedWithSavings = seedWithSavings;
+    }
+
+    /**
+     * Solves the problem with the savings algorithm, once for all runs of the problem.
+     *
+     * @param problem The problem to solve.
+     * @return The solved savings algorithm.
+     */
+    protected SavingsAlgorithm solveSavings(ProblemInstance problem) {
+        SavingsAlgorithm savings = new SavingsAlgorithm(problem);
+        savings.solve();
+        return savings;
+    }
+
+    /**
+     * Seeds an ant colony optimization with the savings solution of the problem.
+     *
+     * @param aco     The ant colony optimization algorithm.
+     * @param savings The solved savings algorithm of the problem.
+     */
+    protected void seed(AntColonyOptimization aco, SavingsAlgorithm savings) {
+        aco.setInitialTauFromTourLength(savings.getTourLength());
+        aco.setInitialSolution(savings.getTour());
+    }
+
+    /**
+     * Gets the initial tau value for the names of the result files.
+     *
+     * @return The tau0 value or "savings" if the runs are seeded with the savings solution.
+     */
+    protected String getTau0Label() {
+        return seedWithSavings ? "savings" : String.valueOf(tau0);
+    }
+}
@@ -40,11 +40,11 @@ public abstract class RunAlgorithm {
     /**
      * List of the computed solutions.
      */
-    protected ArrayList<Double> solutionValues = new ArrayList<>();
+    protected ArrayList<Integer> solutionValues = new ArrayList<>();
     /**
      * The sum of all solution values.
      */
-    protected double sumSolutionValues = 0;
+    protected long sumSolutionValues = 0;
     /**
      * The sum of all solution computation times.
      */
@@ -146,7 +146,7 @@ public abstract class RunAlgorithm {
      * @return The average solution value.
      */
     public double getAvgSolutionValue() {
-        return sumSolutionValues / numOfSolutions;
+        return (double) sumSolutionValues / numOfSolutions;
     }
 
     /**
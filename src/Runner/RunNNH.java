@@ -60,7 +60,7 @@ public class RunNNH extends RunAlgorithm {
         sumComputationTime += compTime;
 
         // write result
-        writer.addRecordToBody((int) nnh.getTourLength() + "; " + getRelativeGapToOpt() + "; "
+        writer.addRecordToBody(nnh.getTourLength() + "; " + getRelativeGapToOpt() + "; "
                 + getAvgComputationTime());
         writer.write();
 
@@ -0,0 +1,82 @@
+package Runner;
+
+import SavingsAlgorithm.SavingsAlgorithm;
+import Utilities.ProblemInstance;
+import Utilities.Writer;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs the Clarke and Wright savings algorithm to solve the problem.
+ */
+public class RunSavings extends RunAlgorithm {
+    /**
+     * Constructor.
+     *
+     * @param directory The directory of the files.
+     * @param dataSet   The dataset to solve.
+     */
+    public RunSavings(String directory, String dataSet) {
+        super(directory, dataSet, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void solveOneFile(File file) {
+        // reset saved vales
+        reset();
+
+        // initialize problem
+        ProblemInstance problem = new ProblemInstance(file);
+        problem.loadInstance();
+
+        setOptimalValue(problem.getOptimalValue());
+
+        // initialize writer
+        Writer writer = new Writer(directory + "Detailed_Results/Savings/", problem.getName());
+        writer.setHead("problem; optimal value");
+        writer.addRecordToBody(problem.getName() + "; " + optimalValue);
+        writer.addRecordToBody("");
+        writer.addRecordToBody("solution value; gap in %; computation time in sec");
+
+        // console output as user information
+        System.out.println("Solving " + problem.getName() + ", please wait...");
+
+        // initialize the savings algorithm
+        SavingsAlgorithm savings = new SavingsAlgorithm(problem);
+
+        // solve and measure time
+        Instant start = Instant.now();
+        savings.solve();
+        Instant finish = Instant.now();
+        long compTime = Duration.between(start, finish).toMillis();
+
+        // save result
+        sumSolutionValues += savings.getTourLength();
+        sumComputationTime += compTime;
+
+        // write result
+        writer.addRecordToBody(savings.getTourLength() + "; " + getRelativeGapToOpt() + "; "
+                + getAvgComputationTime());
+        writer.write();
+
+        // write summary
+        writer = new Writer(directory + "Summarized_Results/", "summarized_results_savings");
+        boolean append = true;
+
+        // resets the file and sets the heading
+        if (!summarizedFileHasHead) {
+            writer.setHead("problem; optimal value; result; gap in %; avg. comp. time");
+            summarizedFileHasHead = true;
+            append = false;
+        }
+
+        writer.addRecordToBody(problem.getName() + "; " + optimalValue + "; " + getAvgSolutionValue() +
+                "; " + getRelativeGapToOpt() + "; " + getAvgComputationTime());
+        writer.write(append);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,290 @@
+package SavingsAlgorithm;
+
+import Graph.KdTree;
+import Graph.Vertex;
+import Solution.Solution;
+import Utilities.ProblemInstance;
+
+import java.util.Arrays;
+
+/**
+ * Clarke and Wright savings algorithm to solve CVRPs.
+ * Every customer starts in its own route. Two routes are merged by joining an end of each with an edge (i,j), which
+ * saves d(0,i) + d(0,j) - d(i,j). The savings are taken from a priority queue in decreasing order, only the savings
+ * between nearest neighbors are considered, and the routes are kept in a union-find structure. So the algorithm runs
+ * in O(n log n) for a fixed number of neighbors.
+ */
+public class SavingsAlgorithm {
+    /**
+     * The depot.
+     */
+    private static final int DEPOT = 0;
+    /**
+     * The vertices of the problem.
+     */
+    private final Vertex[] vertices;
+    /**
+     * The demands of the vertices.
+     */
+    private final int[] demands;
+    /**
+     * The capacity of a vehicle.
+     */
+    private final int capacity;
+    /**
+     * Number of nearest neighbors of each customer to compute the savings with.
+     */
+    private int numOfNeighbors = 40;
+    /**
+     * The two neighbors of each customer in its route, the depot for a free end. The routes are not oriented.
+     */
+    private int[][] links;
+    /**
+     * The parent of each customer in the union-find structure of the routes.
+     */
+    private int[] parent;
+    /**
+     * The number of customers of each route, stored at its root.
+     */
+    private int[] size;
+    /**
+     * The load of each route, stored at its root.
+     */
+    private int[] load;
+    /**
+     * The created Tour.
+     */
+    private int[] tour;
+    /**
+     * The length of the tour.
+     */
+    private int tourLength;
+
+    /**
+     * Constructor.
+     * The distances are computed from the vertices, no distance matrix is built.
+     *
+     * @param problem The problem to solve.
+     */
+    public SavingsAlgorithm(ProblemInstance problem) {
+        this.vertices = problem.getVertices();
+        this.demands = problem.getDemands();
+        this.capacity = problem.getVehicleCapacity();
+    }
+
+    /**
+     * Solve the Problem.
+     */
+    public void solve() {
+        int n = vertices.length;
+        links = new int[n][2];
+        parent = new int[n];
+        size = new int[n];
+        load = new int[n];
+        for (int i = 1; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+            load[i] = demands[i];
+        }
+
+        // the savings of the edges to the nearest neighbors, a mutual edge is merged on its first occurrence
+        KdTree tree = new KdTree(vertices);
+        int k = Math.min(numOfNeighbors, n - 1);
+        int[] from = new int[(n - 1) * k];
+        int[] to = new int[(n - 1) * k];
+        long[] queue = new long[(n - 1) * k];
+        int numOfSavings = 0;
+        for (int i = 1; i < n; i++) {
+            for (int j : tree.nearestNeighbors(i, k)) {
+                if (j == DEPOT)
+                    continue;
+                int saving = cost(DEPOT, i) + cost(DEPOT, j) - cost(i, j);
+                if (saving <= 0)
+                    continue;
+                from[numOfSavings] = i;
+                to[numOfSavings] = j;
+                // the largest saving first, on equal savings the first found
+                queue[numOfSavings] = ((long) (Integer.MAX_VALUE - saving) << 32) | numOfSavings;
+                numOfSavings++;
+            }
+        }
+
+        // merge the routes in the order of the savings
+        heapify(queue, numOfSavings);
+        while (numOfSavings > 0) {
+            int saving = (int) queue[0];
+            queue[0] = queue[--numOfSavings];
+            siftDown(queue, 0, numOfSavings);
+            merge(from[saving], to[saving]);
+        }
+        buildTour();
+    }
+
+    /**
+     * Merges the routes of two customers with the edge between them, if both are ends of different routes and the
+     * merged route respects the capacity.
+     *
+     * @param i The first customer.
+     * @param j The second customer.
+     */
+    private void merge(int i, int j) {
+        int ri = find(i);
+        int rj = find(j);
+        if (ri == rj || load[ri] + load[rj] > capacity)
+            return;
+        int slotI = freeSlot(i);
+        int slotJ = freeSlot(j);
+        if (slotI < 0 || slotJ < 0)
+            return;
+        links[i][slotI] = j;
+        links[j][slotJ] = i;
+        // union by size
+        if (size[ri] < size[rj]) {
+            int swap = ri;
+            ri = rj;
+            rj = swap;
+        }
+        parent[rj] = ri;
+        size[ri] += size[rj];
+        load[ri] += load[rj];
+    }
+
+    /**
+     * Gets the free slot of a customer at an end of its route.
+     *
+     * @param i The customer.
+     * @return The slot linked to the depot or -1 if the customer is inside its route.
+     */
+    private int freeSlot(int i) {
+        if (links[i][0] == DEPOT)
+            return 0;
+        return links[i][1] == DEPOT ? 1 : -1;
+    }
+
+    /**
+     * Finds the root of the route of a customer, halving the path.
+     *
+     * @param i The customer.
+     * @return The root of the route.
+     */
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Builds the tour by walking every route from one of its ends.
+     */
+    private void buildTour() {
+        int n = vertices.length;
+        tour = new int[2 * n];
+        int tourSize = 0;
+        tour[tourSize++] = DEPOT;
+        boolean[] visited = new boolean[n];
+        for (int i = 1; i < n; i++) {
+            if (visited[i] || freeSlot(i) < 0)
+                continue;
+            int previous = DEPOT;
+            int current = i;
+            while (current != DEPOT) {
+                visited[current] = true;
+                tour[tourSize++] = current;
+                int next = links[current][0] == previous ? links[current][1] : links[current][0];
+                previous = current;
+                current = next;
+            }
+            tour[tourSize++] = DEPOT;
+        }
+        tour = Arrays.copyOf(tour, tourSize);
+        tourLength = 0;
+        for (int k = 0; k < tourSize - 1; k++)
+            tourLength += cost(tour[k], tour[k + 1]);
+    }
+
+    /**
+     * Builds a max heap of the savings, the smallest key is the largest saving.
+     *
+     * @param heap The keys.
+     * @param size The number of keys.
+     */
+    private static void heapify(long[] heap, int size) {
+        for (int position = size / 2 - 1; position >= 0; position--)
+            siftDown(heap, position, size);
+    }
+
+    /**
+     * Moves a key down the heap until both children are larger.
+     *
+     * @param heap     The heap.
+     * @param position The position of the key.
+     * @param size     The size of the heap.
+     */
+    private static void siftDown(long[] heap, int position, int size) {
+        long key = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && heap[child + 1] < heap[child])
+                child++;
+            if (heap[child] >= key)
+                break;
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = key;
+    }
+
+    /**
+     * Gets the cost of the edge(i,j).
+     *
+     * @param i The first vertex.
+     * @param j The second vertex.
+     * @return The cost of the edge(i,j).
+     */
+    private int cost(int i, int j) {
+        return vertices[i].costTo(vertices[j]);
+    }
+
+    /**
+     * Sets the number of nearest neighbors of each customer to compute the savings with.
+     * With the number of vertices - 1 all savings are considered, like the classical algorithm.
+     *
+     * @param numOfNeighbors The number of neighbors.
+     */
+    public void setNumOfNeighbors(int numOfNeighbors) {
+        if (numOfNeighbors < 1)
+            throw new IllegalArgumentException("The number of neighbors has to be greater than 0.");
+        this.numOfNeighbors = numOfNeighbors;
+    }
+
+    /**
+     * Gets the tour.
+     *
+     * @return The tour.
+     */
+    public int[] getTour() {
+        return Arrays.copyOf(tour, tour.length);
+    }
+
+    /**
+     * Gets the tour as a solution with routes.
+     *
+     * @return The solution.
+     */
+    public Solution getSolution() {
+        return new Solution(vertices, demands, capacity, getTour());
+    }
+
+    /**
+     * Gets the length of the tour.
+     *
+     * @return The length of the tour.
+     */
+    public int getTourLength() {
+        return tourLength;
+    }
+}
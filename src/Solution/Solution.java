@@ -0,0 +1,625 @@
+package Solution;
+
+import Graph.Graph;
+import Graph.Vertex;
+
+import java.util.Arrays;
+
+/**
+ * Solution of a CVRP as routes of customers, each route starts and ends at the depot.
+ * Every customer knows its route and position, every route its load and length, and every customer the load of its
+ * route up to and including it. With this the change of the cost and the feasibility of the standard moves are
+ * evaluated in constant time, applying a move updates the affected routes.
+ * Routes emptied by a move are kept until the solution is converted back to a tour. A solution of a graph reads the
+ * distances of the graph, otherwise they are computed from the vertices, so a solution does not need a distance
+ * matrix.
+ */
+public class Solution {
+    /**
+     * The graph with the distances, null if the distances are computed from the vertices.
+     */
+    private final Graph graph;
+    /**
+     * The vertices with their coordinates, null if the distances are read from the graph.
+     */
+    private final Vertex[] vertices;
+    /**
+     * The demands of the vertices.
+     */
+    private final int[] demands;
+    /**
+     * The capacity of a vehicle.
+     */
+    private final int capacity;
+    /**
+     * The depot.
+     */
+    private int depot;
+    /**
+     * The customers of each route, the first routeSize entries are valid.
+     */
+    private int[][] routes;
+    /**
+     * The number of customers of each route.
+     */
+    private int[] routeSize;
+    /**
+     * The load of each route.
+     */
+    private int[] routeLoad;
+    /**
+     * The length of each route, including the edges from and to the depot.
+     */
+    private int[] routeLength;
+    /**
+     * The number of routes, including empty routes.
+     */
+    private int numOfRoutes;
+    /**
+     * The route of each customer.
+     */
+    private final int[] routeOf;
+    /**
+     * The position of each customer in its route.
+     */
+    private final int[] positionOf;
+    /**
+     * The load of the route of each customer up to and including the customer.
+     */
+    private final int[] loadUpTo;
+    /**
+     * The cost of the solution, the sum of the route lengths.
+     */
+    private int cost;
+    /**
+     * The buffer for the tail of a route exchanged by a 2-opt* move.
+     */
+    private final int[] buffer;
+
+    /**
+     * Constructor.
+     * Creates an empty solution, which is reused for the tours loaded into it, e.g. by a local search.
+     *
+     * @param graph    The graph with the distances and demands.
+     * @param capacity The capacity of a vehicle.
+     */
+    public Solution(Graph graph, int capacity) {
+        this(graph, null, graph.getDemands(), capacity);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param graph    The graph with the distances and demands.
+     * @param capacity The capacity of a vehicle.
+     * @param tour     The tour, starting at the depot and visiting it again at the end of every route.
+     */
+    public Solution(Graph graph, int capacity, int[] tour) {
+        this(graph, capacity);
+        load(tour, tour.length);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param vertices The vertices with their coordinates.
+     * @param demands  The demands of the vertices.
+     * @param capacity The capacity of a vehicle.
+     * @param tour     The tour, starting at the depot and visiting it again at the end of every route.
+     */
+    public Solution(Vertex[] vertices, int[] demands, int capacity, int[] tour) {
+        this(null, vertices, demands, capacity);
+        load(tour, tour.length);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param graph    The graph with the distances, null if the distances are computed from the vertices.
+     * @param vertices The vertices with their coordinates, null if the distances are read from the graph.
+     * @param demands  The demands of the vertices.
+     * @param capacity The capacity of a vehicle.
+     */
+    private Solution(Graph graph, Vertex[] vertices, int[] demands, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity has to be greater than 0.");
+        this.graph = graph;
+        this.vertices = vertices;
+        this.demands = demands;
+        this.capacity = capacity;
+        this.routeOf = new int[demands.length];
+        this.positionOf = new int[demands.length];
+        this.loadUpTo = new int[demands.length];
+        this.buffer = new int[demands.length];
+        this.routes = new int[0][];
+        this.routeSize = new int[0];
+        this.routeLoad = new int[0];
+        this.routeLength = new int[0];
+    }
+
+    /**
+     * Replaces the routes of the solution by the routes of a tour.
+     *
+     * @param tour     The tour, starting at the depot and visiting it again at the end of every route.
+     * @param tourSize The number of vertices in the tour.
+     */
+    public void load(int[] tour, int tourSize) {
+        depot = tour[0];
+
+        // every route but the last one is closed by the depot which starts the next one
+        int maxRoutes = 0;
+        for (int k = 0; k < tourSize - 1; k++) {
+            if (tour[k] == depot)
+                maxRoutes++;
+        }
+        if (maxRoutes > routes.length) {
+            routes = Arrays.copyOf(routes, maxRoutes);
+            routeSize = new int[maxRoutes];
+            routeLoad = new int[maxRoutes];
+            routeLength = new int[maxRoutes];
+        }
+
+        numOfRoutes = 0;
+        cost = 0;
+        int start = 0;
+        for (int k = 1; k < tourSize; k++) {
+            if (tour[k] != depot)
+                continue;
+            int size = k - start - 1;
+            if (routes[numOfRoutes] == null || routes[numOfRoutes].length < size)
+                routes[numOfRoutes] = new int[Math.max(4, size)];
+            System.arraycopy(tour, start + 1, routes[numOfRoutes], 0, size);
+            routeSize[numOfRoutes] = size;
+            routeLength[numOfRoutes] = 0;
+            updateRoute(numOfRoutes, computeLength(numOfRoutes));
+            numOfRoutes++;
+            start = k;
+        }
+    }
+
+    /**
+     * Converts the solution to a tour, the empty routes are left out.
+     *
+     * @return The tour, starting at the depot and visiting it again at the end of every route.
+     */
+    public int[] toTour() {
+        int[] tour = new int[demands.length + numOfRoutes];
+        return Arrays.copyOf(tour, writeTour(tour));
+    }
+
+    /**
+     * Writes the solution to a tour, the empty routes are left out.
+     *
+     * @param tour The array of the tour, large enough for the customers and a depot per route and at the start.
+     * @return The number of vertices in the tour.
+     */
+    public int writeTour(int[] tour) {
+        int tourSize = 0;
+        tour[tourSize++] = depot;
+        for (int r = 0; r < numOfRoutes; r++) {
+            if (routeSize[r] == 0)
+                continue;
+            System.arraycopy(routes[r], 0, tour, tourSize, routeSize[r]);
+            tourSize += routeSize[r];
+            tour[tourSize++] = depot;
+        }
+        return tourSize;
+    }
+
+    /**
+     * Gets the vertex at a position of a route, the depot before the first and after the last customer.
+     *
+     * @param route    The route.
+     * @param position The position, between -1 and the size of the route.
+     * @return The vertex at the position.
+     */
+    public int getVertex(int route, int position) {
+        return position < 0 || position >= routeSize[route] ? depot : routes[route][position];
+    }
+
+    /**
+     * Gets the previous vertex of a customer in its route.
+     *
+     * @param customer The customer.
+     * @return The previous vertex, the depot for the first customer.
+     */
+    public int getPrevious(int customer) {
+        return getVertex(routeOf[customer], positionOf[customer] - 1);
+    }
+
+    /**
+     * Gets the next vertex of a customer in its route.
+     *
+     * @param customer The customer.
+     * @return The next vertex, the depot for the last customer.
+     */
+    public int getNext(int customer) {
+        return getVertex(routeOf[customer], positionOf[customer] + 1);
+    }
+
+    /**
+     * Evaluates moving a customer to a position of a route, in front of the vertex at this position.
+     *
+     * @param customer The customer.
+     * @param route    The target route.
+     * @param position The target position in the current order of the route, between 0 and its size.
+     * @return The change of the cost.
+     */
+    public int relocateDelta(int customer, int route, int position) {
+        int p = positionOf[customer];
+        if (route == routeOf[customer] && (position == p || position == p + 1))
+            return 0;
+        return removalDelta(customer) + insertionDelta(customer, route, position);
+    }
+
+    /**
+     * Evaluates removing a customer from its route, the first part of a relocate move.
+     *
+     * @param customer The customer.
+     * @return The change of the cost.
+     */
+    public int removalDelta(int customer) {
+        int prev = getPrevious(customer);
+        int next = getNext(customer);
+        return cost(prev, next) - cost(prev, customer) - cost(customer, next);
+    }
+
+    /**
+     * Evaluates inserting a customer into another route, the second part of a relocate move.
+     *
+     * @param customer The customer.
+     * @param route    The target route, not the route of the customer.
+     * @param position The target position in the route, between 0 and its size.
+     * @return The change of the cost.
+     */
+    public int insertionDelta(int customer, int route, int position) {
+        int a = getVertex(route, position - 1);
+        int b = getVertex(route, position);
+        return cost(a, customer) + cost(customer, b) - cost(a, b);
+    }
+
+    /**
+     * Describes whether moving a customer to a route respects the capacity.
+     *
+     * @param customer The customer.
+     * @param route    The target route.
+     * @return <CODE>true</CODE> if the move is feasible, <CODE>false</CODE> otherwise
+     */
+    public boolean isRelocateFeasible(int customer, int route) {
+        return route == routeOf[customer] || routeLoad[route] + demands[customer] <= capacity;
+    }
+
+    /**
+     * Moves a customer to a position of a route, in front of the vertex at this position.
+     *
+     * @param customer The customer.
+     * @param route    The target route.
+     * @param position The target position in the current order of the route, between 0 and its size.
+     */
+    public void relocate(int customer, int route, int position) {
+        int sourceRoute = routeOf[customer];
+        int p = positionOf[customer];
+        int delta = relocateDelta(customer, route, position);
+        int removed = removalDelta(customer);
+        int[] source = routes[sourceRoute];
+        System.arraycopy(source, p + 1, source, p, routeSize[sourceRoute] - p - 1);
+        routeSize[sourceRoute]--;
+        if (route == sourceRoute && position > p)
+            position--;
+
+        ensureCapacity(route, routeSize[route] + 1);
+        int[] target = routes[route];
+        System.arraycopy(target, position, target, position + 1, routeSize[route] - position);
+        target[position] = customer;
+        routeSize[route]++;
+
+        if (route == sourceRoute) {
+            updateRoute(route, delta);
+        } else {
+            updateRoute(sourceRoute, removed);
+            updateRoute(route, delta - removed);
+        }
+    }
+
+    /**
+     * Evaluates exchanging the positions of two customers.
+     *
+     * @param u The first customer.
+     * @param v The second customer.
+     * @return The change of the cost.
+     */
+    public int swapDelta(int u, int v) {
+        int pu = getPrevious(u);
+        int nu = getNext(u);
+        int pv = getPrevious(v);
+        int nv = getNext(v);
+        // adjacent customers keep their common edge
+        if (nu == v)
+            return cost(pu, v) + cost(u, nv) - cost(pu, u) - cost(v, nv);
+        if (nv == u)
+            return cost(pv, u) + cost(v, nu) - cost(pv, v) - cost(u, nu);
+        return cost(pu, v) + cost(v, nu) + cost(pv, u) + cost(u, nv)
+                - cost(pu, u) - cost(u, nu) - cost(pv, v) - cost(v, nv);
+    }
+
+    /**
+     * Describes whether exchanging the positions of two customers respects the capacity.
+     *
+     * @param u The first customer.
+     * @param v The second customer.
+     * @return <CODE>true</CODE> if the move is feasible, <CODE>false</CODE> otherwise
+     */
+    public boolean isSwapFeasible(int u, int v) {
+        int ru = routeOf[u];
+        int rv = routeOf[v];
+        if (ru == rv)
+            return true;
+        int difference = demands[v] - demands[u];
+        return routeLoad[ru] + difference <= capacity && routeLoad[rv] - difference <= capacity;
+    }
+
+    /**
+     * Exchanges the positions of two customers.
+     *
+     * @param u The first customer.
+     * @param v The second customer.
+     */
+    public void swap(int u, int v) {
+        int ru = routeOf[u];
+        int rv = routeOf[v];
+        int delta = swapDelta(u, v);
+        int pu = getPrevious(u);
+        int nu = getNext(u);
+        int changeU = cost(pu, v) + cost(v, nu) - cost(pu, u) - cost(u, nu);
+        routes[ru][positionOf[u]] = v;
+        routes[rv][positionOf[v]] = u;
+        if (ru == rv) {
+            updateRoute(ru, delta);
+        } else {
+            updateRoute(ru, changeU);
+            updateRoute(rv, delta - changeU);
+        }
+    }
+
+    /**
+     * Evaluates reversing the customers between two positions of a route.
+     *
+     * @param route The route.
+     * @param from  The first position.
+     * @param to    The last position, at least the first one.
+     * @return The change of the cost.
+     */
+    public int twoOptDelta(int route, int from, int to) {
+        int a = getVertex(route, from - 1);
+        int b = getVertex(route, from);
+        int c = getVertex(route, to);
+        int d = getVertex(route, to + 1);
+        return cost(a, c) + cost(b, d) - cost(a, b) - cost(c, d);
+    }
+
+    /**
+     * Reverses the customers between two positions of a route.
+     *
+     * @param route The route.
+     * @param from  The first position.
+     * @param to    The last position, at least the first one.
+     */
+    public void twoOpt(int route, int from, int to) {
+        int delta = twoOptDelta(route, from, to);
+        int[] customers = routes[route];
+        while (from < to) {
+            int swap = customers[from];
+            customers[from++] = customers[to];
+            customers[to--] = swap;
+        }
+        updateRoute(route, delta);
+    }
+
+    /**
+     * Evaluates exchanging the tails of two routes so that v follows u: the route of u continues with v and the rest
+     * of its route, the route of v continues with the rest of the route of u.
+     *
+     * @param u A customer.
+     * @param v A customer of another route.
+     * @return The change of the cost.
+     */
+    public int twoOptStarDelta(int u, int v) {
+        int nu = getNext(u);
+        int pv = getPrevious(v);
+        return cost(u, v) + cost(pv, nu) - cost(u, nu) - cost(pv, v);
+    }
+
+    /**
+     * Describes whether exchanging the tails of two routes so that v follows u respects the capacity.
+     *
+     * @param u A customer.
+     * @param v A customer of another route.
+     * @return <CODE>true</CODE> if the move is feasible, <CODE>false</CODE> otherwise
+     */
+    public boolean isTwoOptStarFeasible(int u, int v) {
+        int ru = routeOf[u];
+        int rv = routeOf[v];
+        int loadBeforeV = loadUpTo[v] - demands[v];
+        return loadUpTo[u] + routeLoad[rv] - loadBeforeV <= capacity
+                && loadBeforeV + routeLoad[ru] - loadUpTo[u] <= capacity;
+    }
+
+    /**
+     * Exchanges the tails of two routes so that v follows u.
+     *
+     * @param u A customer.
+     * @param v A customer of another route.
+     */
+    public void twoOptStar(int u, int v) {
+        int ru = routeOf[u];
+        int rv = routeOf[v];
+        int headU = positionOf[u] + 1;
+        int headV = positionOf[v];
+        int tailU = routeSize[ru] - headU;
+        int tailV = routeSize[rv] - headV;
+        System.arraycopy(routes[ru], headU, buffer, 0, tailU);
+        ensureCapacity(ru, headU + tailV);
+        ensureCapacity(rv, headV + tailU);
+        System.arraycopy(routes[rv], headV, routes[ru], headU, tailV);
+        System.arraycopy(buffer, 0, routes[rv], headV, tailU);
+        routeSize[ru] = headU + tailV;
+        routeSize[rv] = headV + tailU;
+        updateRoute(ru, computeLength(ru) - routeLength[ru]);
+        updateRoute(rv, computeLength(rv) - routeLength[rv]);
+    }
+
+    /**
+     * Grows the array of a route, so that it holds a number of customers.
+     *
+     * @param route The route.
+     * @param size  The number of customers.
+     */
+    private void ensureCapacity(int route, int size) {
+        if (routes[route].length < size)
+            routes[route] = Arrays.copyOf(routes[route], Math.max(size, 2 * routes[route].length));
+    }
+
+    /**
+     * Updates the positions, the cumulated loads, the load and the length of a route and the cost of the solution.
+     * The moves know the change of the length, so the edges of the route are not summed again.
+     *
+     * @param route        The route.
+     * @param lengthChange The change of the length of the route.
+     */
+    private void updateRoute(int route, int lengthChange) {
+        int load = 0;
+        for (int k = 0; k < routeSize[route]; k++) {
+            int customer = routes[route][k];
+            routeOf[customer] = route;
+            positionOf[customer] = k;
+            load += demands[customer];
+            loadUpTo[customer] = load;
+        }
+        routeLoad[route] = load;
+        routeLength[route] += lengthChange;
+        cost += lengthChange;
+    }
+
+    /**
+     * Computes the length of a route from its edges.
+     *
+     * @param route The route.
+     * @return The length of the route.
+     */
+    private int computeLength(int route) {
+        int length = 0;
+        int last = depot;
+        for (int k = 0; k < routeSize[route]; k++) {
+            length += cost(last, routes[route][k]);
+            last = routes[route][k];
+        }
+        return length + cost(last, depot);
+    }
+
+    /**
+     * Gets the cost of the edge(i,j).
+     *
+     * @param i The first vertex.
+     * @param j The second vertex.
+     * @return The cost of the edge(i,j).
+     */
+    private int cost(int i, int j) {
+        return graph != null ? graph.getCost(i, j) : vertices[i].costTo(vertices[j]);
+    }
+
+    /**
+     * Gets the cost of the solution.
+     *
+     * @return The sum of the route lengths.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Gets the number of routes, including empty routes.
+     *
+     * @return The number of routes.
+     */
+    public int getNumOfRoutes() {
+        return numOfRoutes;
+    }
+
+    /**
+     * Gets the customers of a route.
+     *
+     * @param route The route.
+     * @return The customers in the order of the route.
+     */
+    public int[] getRoute(int route) {
+        return Arrays.copyOf(routes[route], routeSize[route]);
+    }
+
+    /**
+     * Gets the number of customers of a route.
+     *
+     * @param route The route.
+     * @return The number of customers.
+     */
+    public int getRouteSize(int route) {
+        return routeSize[route];
+    }
+
+    /**
+     * Gets the load of a route.
+     *
+     * @param route The route.
+     * @return The load of the route.
+     */
+    public int getRouteLoad(int route) {
+        return routeLoad[route];
+    }
+
+    /**
+     * Gets the length of a route.
+     *
+     * @param route The route.
+     * @return The length of the route.
+     */
+    public int getRouteLength(int route) {
+        return routeLength[route];
+    }
+
+    /**
+     * Gets the route of a customer.
+     *
+     * @param customer The customer.
+     * @return The route of the customer.
+     */
+    public int getRouteOf(int customer) {
+        return routeOf[customer];
+    }
+
+    /**
+     * Gets the position of a customer in its route.
+     *
+     * @param customer The customer.
+     * @return The position of the customer.
+     */
+    public int getPositionOf(int customer) {
+        return positionOf[customer];
+    }
+
+    /**
+     * Gets the capacity of a vehicle.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the depot.
+     *
+     * @return The depot.
+     */
+    public int getDepot() {
+        return depot;
+    }
+}
@@ -0,0 +1,141 @@
+package Solution;
+
+import Graph.Graph;
+
+/**
+ * Optimal split of a giant tour into routes, respecting the capacity of the vehicles.
+ * The giant tour visits every customer once without returning to the depot. The split keeps the order of the
+ * customers and chooses the route boundaries with the shortest total length, a shortest path in the acyclic graph of
+ * the possible routes. The cost of a route from customer i + 1 to j is p[i] + d(0,i+1) - D[i+1] + D[j] + d(j,0) with
+ * D the cumulated distance along the giant tour, so the best predecessor of j is the minimum of the first part over
+ * the predecessors within the capacity. It is kept in a monotone deque, so the split runs in linear time.
+ */
+public class Split {
+    /**
+     * The graph with the distances and demands.
+     */
+    private final Graph graph;
+    /**
+     * The capacity of a vehicle.
+     */
+    private final int capacity;
+    /**
+     * The customers of the giant tour, from position one.
+     */
+    private final int[] customers;
+    /**
+     * The distance along the giant tour from its first customer to each position.
+     */
+    private final int[] distanceUpTo;
+    /**
+     * The load of the giant tour up to and including each position.
+     */
+    private final int[] loadUpTo;
+    /**
+     * The length of the best split of the giant tour up to each position.
+     */
+    private final int[] potential;
+    /**
+     * The position ending the previous route in the best split up to each position.
+     */
+    private final int[] predecessor;
+    /**
+     * The deque of the predecessor candidates, ordered by position and by value.
+     */
+    private final int[] deque;
+
+    /**
+     * Constructor.
+     *
+     * @param graph    The graph with the distances and demands.
+     * @param capacity The capacity of a vehicle.
+     */
+    public Split(Graph graph, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity has to be greater than 0.");
+        int numOfVertices = graph.getNumOfVertices();
+        this.graph = graph;
+        this.capacity = capacity;
+        this.customers = new int[numOfVertices + 1];
+        this.distanceUpTo = new int[numOfVertices + 1];
+        this.loadUpTo = new int[numOfVertices + 1];
+        this.potential = new int[numOfVertices + 1];
+        this.predecessor = new int[numOfVertices + 1];
+        this.deque = new int[numOfVertices + 1];
+    }
+
+    /**
+     * Splits a giant tour in place into the routes with the shortest total length.
+     * Every customer has to fit into a vehicle.
+     *
+     * @param tour     The giant tour, starting and ending at the depot with the customers in between.
+     * @param tourSize The number of vertices in the giant tour.
+     * @return The number of vertices in the split tour.
+     */
+    public int split(int[] tour, int tourSize) {
+        int depot = tour[0];
+        int n = tourSize - 2;
+        for (int k = 1; k <= n; k++) {
+            customers[k] = tour[k];
+            loadUpTo[k] = loadUpTo[k - 1] + graph.getDemands(tour[k]);
+            distanceUpTo[k] = k == 1 ? 0 : distanceUpTo[k - 1] + cost(tour[k - 1], tour[k]);
+        }
+
+        // shortest path over the positions, the front of the deque is the best feasible predecessor
+        potential[0] = 0;
+        int head = 0;
+        int tail = 0;
+        deque[tail++] = 0;
+        for (int j = 1; j <= n; j++) {
+            int front = deque[head];
+            potential[j] = value(front, depot) + distanceUpTo[j] + cost(customers[j], depot);
+            predecessor[j] = front;
+            if (j == n)
+                break;
+            // j is at least as good as every later candidate it outlives
+            int valueOfJ = value(j, depot);
+            while (tail > head && value(deque[tail - 1], depot) >= valueOfJ)
+                tail--;
+            deque[tail++] = j;
+            // the predecessors which cannot take the next customer
+            while (loadUpTo[j + 1] - loadUpTo[deque[head]] > capacity)
+                head++;
+        }
+
+        // write the routes from the last one to the first one
+        int numOfRoutes = 0;
+        for (int j = n; j > 0; j = predecessor[j])
+            numOfRoutes++;
+        int newTourSize = n + numOfRoutes + 1;
+        int k = newTourSize - 1;
+        tour[k--] = depot;
+        for (int j = n; j > 0; j = predecessor[j]) {
+            for (int position = j; position > predecessor[j]; position--)
+                tour[k--] = customers[position];
+            tour[k--] = depot;
+        }
+        return newTourSize;
+    }
+
+    /**
+     * Gets the part of the cost of a route starting after a position which depends on the position.
+     *
+     * @param position The position ending the previous route.
+     * @param depot    The depot.
+     * @return The value of the position as predecessor.
+     */
+    private int value(int position, int depot) {
+        return potential[position] + cost(depot, customers[position + 1]) - distanceUpTo[position + 1];
+    }
+
+    /**
+     * Gets the cost of the edge(i,j).
+     *
+     * @param i The first vertex.
+     * @param j The second vertex.
+     * @return The cost of the edge(i,j).
+     */
+    private int cost(int i, int j) {
+        return graph.getCost(i, j);
+    }
+}
@@ -0,0 +1,41 @@
+package Utilities;
+
+import java.util.SplittableRandom;
+
+/**
+ * Provides independent random streams, split from one root generator.
+ * With a seed the streams and therefore the runs using them are reproducible.
+ */
+public class RandomProvider {
+    /**
+     * The root generator the streams are split from.
+     */
+    private final SplittableRandom root;
+
+    /**
+     * Constructor.
+     * Seeds the root generator randomly.
+     */
+    public RandomProvider() {
+        this.root = new SplittableRandom();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param seed The seed of the root generator.
+     */
+    public RandomProvider(long seed) {
+        this.root = new SplittableRandom(seed);
+    }
+
+    /**
+     * Returns a new independent random stream.
+     * The streams depend only on the seed and the order of the calls.
+     *
+     * @return The new random stream.
+     */
+    public synchronized SplittableRandom split() {
+        return root.split();
+    }
+}
@@ -0,0 +1,114 @@
+package Utilities;
+
+/**
+ * A set of integers in the range 0...capacity - 1, backed by a dense and a sparse int array.
+ * Adding, removing and the membership test run in constant time without boxing.
+ * Removing swaps the last element into the gap, so the order of the elements is not preserved.
+ */
+public class SparseSet {
+    /**
+     * The elements of the set, the first size entries are valid.
+     */
+    private final int[] dense;
+    /**
+     * The position of each element in the dense array.
+     */
+    private final int[] sparse;
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The exclusive upper bound of the elements.
+     */
+    public SparseSet(int capacity) {
+        this.dense = new int[capacity];
+        this.sparse = new int[capacity];
+    }
+
+    /**
+     * Adds an element to the set, if it is not already contained.
+     *
+     * @param element The element to add.
+     */
+    public void add(int element) {
+        if (contains(element))
+            return;
+        dense[size] = element;
+        sparse[element] = size;
+        size++;
+    }
+
+    /**
+     * Adds all elements of another set.
+     *
+     * @param other The other set.
+     */
+    public void addAll(SparseSet other) {
+        for (int i = 0; i < other.size; i++)
+            add(other.dense[i]);
+    }
+
+    /**
+     * Removes an element from the set, if it is contained.
+     *
+     * @param element The element to remove.
+     */
+    public void remove(int element) {
+        if (!contains(element))
+            return;
+        int position = sparse[element];
+        int last = dense[--size];
+        dense[position] = last;
+        sparse[last] = position;
+    }
+
+    /**
+     * Describes whether the element is contained in the set.
+     *
+     * @param element The element.
+     * @return <CODE>true</CODE> if the element is contained, <CODE>false</CODE> otherwise
+     */
+    public boolean contains(int element) {
+        int position = sparse[element];
+        return position < size && dense[position] == element;
+    }
+
+    /**
+     * Gets the element at the specific position.
+     *
+     * @param index The position, between 0 and size - 1.
+     * @return The element at the position.
+     */
+    public int get(int index) {
+        return dense[index];
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Describes whether the set is empty.
+     *
+     * @return <CODE>true</CODE> if the set is empty, <CODE>false</CODE> otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -25,12 +25,15 @@ public class Writer {
     /**
      * Constructor
      *
+     * Creates the directory if it does not exist.
+     *
      * @param directory The directory in which should be written.
      * @param filename  The name of the file.
      */
     public Writer(String directory, String filename) {
         file = new File(directory + filename + ".csv");
         try {
+            file.getAbsoluteFile().getParentFile().mkdirs();
             file.createNewFile();
         } catch (IOException e) {
             e.printStackTrace();